@@ -0,0 +1,62 @@
+package faang.school.postservice.client;
+
+import faang.school.postservice.dto.FollowerResponseDto;
+import faang.school.postservice.dto.UserFilterRequestDto;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Walks the followers of a user page by page, yielding the follower ids of each page. Pages are
+ * requested lazily with an id cursor, so only one page is held at a time; a page shorter than
+ * {@code pageSize} ends the iteration.
+ */
+public class FollowerIterator implements Iterator<List<Long>> {
+    private final UserServiceClient userServiceClient;
+    private final Long userId;
+    private final int pageSize;
+    private Long afterId;
+    private List<Long> nextPage;
+    private boolean exhausted;
+
+    public FollowerIterator(UserServiceClient userServiceClient, Long userId, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        this.userServiceClient = userServiceClient;
+        this.userId = userId;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextPage == null && !exhausted) {
+            nextPage = fetchPage();
+        }
+        return nextPage != null;
+    }
+
+    @Override
+    public List<Long> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        List<Long> page = nextPage;
+        nextPage = null;
+        return page;
+    }
+
+    private List<Long> fetchPage() {
+        List<Long> followerIds = userServiceClient.getFollowers(userId, UserFilterRequestDto.page(afterId, pageSize))
+                .stream()
+                .map(FollowerResponseDto::id)
+                .toList();
+        exhausted = followerIds.size() < pageSize;
+        if (followerIds.isEmpty()) {
+            return null;
+        }
+        afterId = followerIds.get(followerIds.size() - 1);
+        return followerIds;
+    }
+}
@@ -26,4 +26,10 @@ public interface UserServiceClient {
             @PathVariable("id") Long userId,
             @SpringQueryMap UserFilterRequestDto filter
     );
+
+    @GetMapping("/followees/users/{id}")
+    List<FollowerResponseDto> getFollowees(
+            @PathVariable("id") Long userId,
+            @SpringQueryMap UserFilterRequestDto filter
+    );
 }
\ No newline at end of file
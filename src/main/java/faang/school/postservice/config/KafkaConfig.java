@@ -1,6 +1,7 @@
 package faang.school.postservice.config;
 
 import faang.school.postservice.dto.PostCreatedEvent;
+import faang.school.postservice.dto.PostDeletedEvent;
 import faang.school.postservice.event.PostViewEvent;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
@@ -26,6 +27,13 @@ import java.util.Map;
 @Configuration
 public class KafkaConfig {
 
+    /**
+     * Created and deleted post events share the posts topic; the type header carries these
+     * tokens instead of class names so the consumer can tell them apart.
+     */
+    private static final String POST_EVENT_TYPE_MAPPINGS =
+            "postCreated:" + PostCreatedEvent.class.getName() + ",postDeleted:" + PostDeletedEvent.class.getName();
+
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
@@ -41,6 +49,9 @@ public class KafkaConfig {
     @Value("${spring.kafka.topic.post-created.replication-factor}")
     private short postCreatedReplicationFactor;
 
+    @Value("${spring.kafka.topic.post-created.max-poll-records}")
+    private int postCreatedMaxPollRecords;
+
     @Value("${spring.kafka.topic.post-viewed-event.name}")
     private String postViewedEventTopic;
 
@@ -52,11 +63,7 @@ public class KafkaConfig {
 
     @Bean
     public ProducerFactory<String, PostCreatedEvent> postCreatedProducerFactory() {
-        Map<String, Object> configProps = new HashMap<>();
-        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        return new DefaultKafkaProducerFactory<>(configProps);
+        return new DefaultKafkaProducerFactory<>(postEventProducerProps());
     }
 
     @Bean
@@ -65,21 +72,46 @@ public class KafkaConfig {
     }
 
     @Bean
-    public ConsumerFactory<String, PostCreatedEvent> postCreatedConsumerFactory() {
+    public ProducerFactory<String, PostDeletedEvent> postDeletedProducerFactory() {
+        return new DefaultKafkaProducerFactory<>(postEventProducerProps());
+    }
+
+    @Bean
+    public KafkaTemplate<String, PostDeletedEvent> postDeletedKafkaTemplate() {
+        return new KafkaTemplate<>(postDeletedProducerFactory());
+    }
+
+    private Map<String, Object> postEventProducerProps() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        configProps.put(JsonSerializer.TYPE_MAPPINGS, POST_EVENT_TYPE_MAPPINGS);
+        return configProps;
+    }
+
+    @Bean
+    public ConsumerFactory<String, Object> postEventConsumerFactory() {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, consumerGroupId);
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
-        props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
-        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), new JsonDeserializer<>(PostCreatedEvent.class));
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, postCreatedMaxPollRecords);
+        props.put(JsonDeserializer.TRUSTED_PACKAGES, PostCreatedEvent.class.getPackageName());
+        props.put(JsonDeserializer.TYPE_MAPPINGS, POST_EVENT_TYPE_MAPPINGS);
+        // records without a type header are treated as created events
+        props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, PostCreatedEvent.class.getName());
+        return new DefaultKafkaConsumerFactory<>(props);
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, PostCreatedEvent> postCreatedKafkaListenerContainerFactory() {
-        ConcurrentKafkaListenerContainerFactory<String, PostCreatedEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
-        factory.setConsumerFactory(postCreatedConsumerFactory());
+    public ConcurrentKafkaListenerContainerFactory<String, Object> postCreatedKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(postEventConsumerFactory());
+        factory.setBatchListener(true);
+        factory.setConcurrency(postCreatedPartition);
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
         return factory;
     }
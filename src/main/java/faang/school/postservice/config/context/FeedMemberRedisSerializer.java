@@ -0,0 +1,83 @@
+package faang.school.postservice.config.context;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Stores feed ZSET members as fixed 8-byte big-endian post ids.
+ * <p>
+ * Members written before the switch are JSON produced by {@code GenericJackson2JsonRedisSerializer},
+ * either a bare number or {@code ["java.lang.Long",123]}, and are still decoded. The two formats
+ * cannot collide for real ids: an encoded id below 2^56 always starts with a zero byte, while the
+ * legacy form starts with a digit, a minus sign or a bracket.
+ */
+public class FeedMemberRedisSerializer implements RedisSerializer<Long> {
+
+    private static final int ENCODED_LENGTH = Long.BYTES;
+
+    public static byte[] encode(long postId) {
+        return ByteBuffer.allocate(ENCODED_LENGTH).putLong(postId).array();
+    }
+
+    /**
+     * The binary member followed by both legacy JSON forms, for commands that must match entries
+     * whichever format they were written in.
+     */
+    public static byte[][] encodeAll(long postId) {
+        return new byte[][]{
+                encode(postId),
+                Long.toString(postId).getBytes(StandardCharsets.US_ASCII),
+                ("[\"java.lang.Long\"," + postId + "]").getBytes(StandardCharsets.US_ASCII)
+        };
+    }
+
+    public static long decode(byte[] bytes) {
+        if (bytes.length == ENCODED_LENGTH && !isLegacyJson(bytes)) {
+            return ByteBuffer.wrap(bytes).getLong();
+        }
+        return decodeLegacy(bytes);
+    }
+
+    @Override
+    public byte[] serialize(Long postId) throws SerializationException {
+        return postId == null ? null : encode(postId);
+    }
+
+    @Override
+    public Long deserialize(byte[] bytes) throws SerializationException {
+        return bytes == null ? null : decode(bytes);
+    }
+
+    private static boolean isLegacyJson(byte[] bytes) {
+        byte first = bytes[0];
+        if (first == '[' || first == '-') {
+            return true;
+        }
+        for (byte b : bytes) {
+            if (b < '0' || b > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long decodeLegacy(byte[] bytes) {
+        String json = new String(bytes, StandardCharsets.US_ASCII);
+        int end = json.length();
+        while (end > 0 && !Character.isDigit(json.charAt(end - 1))) {
+            end--;
+        }
+        int start = end;
+        while (start > 0 && (Character.isDigit(json.charAt(start - 1)) || json.charAt(start - 1) == '-')) {
+            start--;
+        }
+        try {
+            return Long.parseLong(json.substring(start, end));
+        } catch (NumberFormatException e) {
+            throw new SerializationException("Cannot decode feed member: " + json, e);
+        }
+    }
+}
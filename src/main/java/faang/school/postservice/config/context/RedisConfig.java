@@ -1,15 +1,21 @@
 package faang.school.postservice.config.context;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import faang.school.postservice.dto.PostCreatedEvent;
+import faang.school.postservice.dto.PostDto;
+import faang.school.postservice.service.FolloweeService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.data.redis.serializer.GenericToStringSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
@@ -28,6 +34,9 @@ public class RedisConfig {
     @Value("${app.cache.authors.key-prefix}")
     private String keyPrefix;
 
+    @Value("${app.cache.followees.ttl}")
+    private long followeesTtl;
+
     @Bean
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory factory) {
         RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
@@ -37,6 +46,15 @@ public class RedisConfig {
         return redisTemplate;
     }
 
+    @Bean
+    public RedisTemplate<String, Long> feedRedisTemplate(RedisConnectionFactory factory) {
+        RedisTemplate<String, Long> template = new RedisTemplate<>();
+        template.setConnectionFactory(factory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(new FeedMemberRedisSerializer());
+        return template;
+    }
+
     @Bean
     public RedisTemplate<String, PostCreatedEvent> postEventRedisTemplate(RedisConnectionFactory factory) {
         RedisTemplate<String, PostCreatedEvent> template = new RedisTemplate<>();
@@ -46,6 +64,21 @@ public class RedisConfig {
         return template;
     }
 
+    @Bean
+    public RedisTemplate<String, PostDto> postDtoRedisTemplate(RedisConnectionFactory factory,
+                                                              ObjectMapper objectMapper) {
+        RedisTemplate<String, PostDto> template = new RedisTemplate<>();
+        template.setConnectionFactory(factory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(new Jackson2JsonRedisSerializer<>(objectMapper, PostDto.class));
+        return template;
+    }
+
+    @Bean
+    public RedisScript<Long> feedAddScript() {
+        return RedisScript.of(new ClassPathResource("redis/feed-add-and-trim.lua"), Long.class);
+    }
+
     @Bean
     public ChannelTopic channelTopic() {
         return new ChannelTopic(banUserKey);
@@ -59,6 +92,10 @@ public class RedisConfig {
                                 .entryTtl(Duration.ofSeconds(ttl))
                                 .disableCachingNullValues()
                                 .serializeValuesWith(RedisSerializationContext.SerializationPair
-                                        .fromSerializer(new GenericJackson2JsonRedisSerializer())));
+                                        .fromSerializer(new GenericJackson2JsonRedisSerializer())))
+                .withCacheConfiguration(FolloweeService.FOLLOWEES_CACHE,
+                        RedisCacheConfiguration.defaultCacheConfig()
+                                .entryTtl(Duration.ofSeconds(followeesTtl))
+                                .disableCachingNullValues());
     }
 }
@@ -1,6 +1,7 @@
 package faang.school.postservice.consumer;
 
 import faang.school.postservice.dto.PostCreatedEvent;
+import faang.school.postservice.dto.PostDeletedEvent;
 import faang.school.postservice.repository.FeedRepository;
 import faang.school.postservice.repository.PostCacheRepository;
 import lombok.RequiredArgsConstructor;
@@ -11,6 +12,7 @@ import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 
 @Component
@@ -26,30 +28,61 @@ public class PostCreatedEventConsumer {
     @KafkaListener(
             topics = "${spring.kafka.topic.post-created.name}",
             groupId = "${spring.kafka.consumer.group-id}",
-            containerFactory = "kafkaListenerContainerFactory"
+            containerFactory = "postCreatedKafkaListenerContainerFactory"
     )
-    public void consume(PostCreatedEvent event, Acknowledgment ack) {
-        log.info("Received PostCreatedEvent: {}", event);
+    public void consume(List<Object> records, Acknowledgment ack) {
+        log.info("Received batch of {} post events", records.size());
 
         try {
-            postCacheRepository.cachePost(event);
+            List<PostCreatedEvent> events = new ArrayList<>();
+            List<PostDeletedEvent> deletedEvents = new ArrayList<>();
+            for (Object record : records) {
+                if (record instanceof PostCreatedEvent created) {
+                    events.add(created);
+                } else if (record instanceof PostDeletedEvent deleted) {
+                    deletedEvents.add(deleted);
+                } else {
+                    log.warn("Skipping unexpected record on posts topic: {}", record);
+                }
+            }
+
+            postCacheRepository.cachePosts(events);
+
+            List<PostCreatedEvent> pullModeEvents = events.stream()
+                    .filter(PostCreatedEvent::isPullMode)
+                    .toList();
+            pullModeEvents.forEach(event ->
+                    feedRepository.addPostToTimeline(event.getAuthorId(), event.getPostId(), event.getCreatedAt()));
+
+            List<PostCreatedEvent> fanOutEvents = events.stream()
+                    .filter(event -> !event.isPullMode())
+                    .filter(event -> event.getFollowerIds() != null && !event.getFollowerIds().isEmpty())
+                    .toList();
+            List<PostCreatedEvent> pendingEvents = feedRepository.findPendingFanOutChunks(fanOutEvents);
+            if (pendingEvents.size() < fanOutEvents.size()) {
+                log.info("Skipping {} already processed fan-out chunks", fanOutEvents.size() - pendingEvents.size());
+            }
 
-            List<Long> followerIds = event.getFollowerIds();
-            if (followerIds == null || followerIds.isEmpty()) {
-                log.info("No followers for author {}", event.getAuthorId());
-                ack.acknowledge();
-                return;
+            if (!pendingEvents.isEmpty()) {
+                feedRepository.addPostsToFeeds(pendingEvents);
+                feedRepository.markFanOutChunksDone(pendingEvents);
             }
 
-            for (Long followerId : followerIds) {
-                feedRepository.addPostToFeed(followerId, event.getPostId(), event.getCreatedAt());
+            // removals run after inserts so a post created and deleted within one batch ends up removed
+            if (!deletedEvents.isEmpty()) {
+                feedRepository.removePostsFromFeeds(deletedEvents);
+                postCacheRepository.evictPosts(deletedEvents.stream()
+                        .map(PostDeletedEvent::getPostId)
+                        .distinct()
+                        .toList());
             }
 
-            log.info("Updated feeds for {} followers", followerIds.size());
+            log.info("Processed batch: {} timeline posts, {} fan-out chunks, {} removal chunks",
+                    pullModeEvents.size(), pendingEvents.size(), deletedEvents.size());
             ack.acknowledge();
         } catch (Exception e) {
-            log.error("Error while processing PostCreatedEvent: {}", e.getMessage(), e);
-            ack.nack(Duration.ofSeconds(nackDelaySeconds));
+            log.error("Error while processing post event batch: {}", e.getMessage(), e);
+            ack.nack(0, Duration.ofSeconds(nackDelaySeconds));
         }
     }
-}
\ No newline at end of file
+}
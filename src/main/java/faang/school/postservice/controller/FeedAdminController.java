@@ -0,0 +1,24 @@
+package faang.school.postservice.controller;
+
+import faang.school.postservice.service.FeedWarmUpService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/admin/feed")
+@RequiredArgsConstructor
+public class FeedAdminController {
+
+    private final FeedWarmUpService feedWarmUpService;
+
+    @PostMapping("/warm-up")
+    public ResponseEntity<Void> startWarmUp() {
+        return feedWarmUpService.start()
+                ? ResponseEntity.status(HttpStatus.ACCEPTED).build()
+                : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+}
@@ -1,12 +1,14 @@
 package faang.school.postservice.controller;
 
 import faang.school.postservice.dto.PostDto;
+import faang.school.postservice.dto.PostPageDto;
 import faang.school.postservice.service.FeedService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -23,4 +25,12 @@ public class FeedController {
         List<PostDto> feed = feedService.getFeedForUser(userId);
         return ResponseEntity.ok(feed);
     }
+
+    @GetMapping(value = "/{userId}", params = "limit")
+    public ResponseEntity<PostPageDto> getFeedPage(@PathVariable Long userId,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestParam int limit) {
+        PostPageDto page = feedService.getFeedPage(userId, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
 }
\ No newline at end of file
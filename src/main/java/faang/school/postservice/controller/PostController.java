@@ -1,12 +1,16 @@
 package faang.school.postservice.controller;
 
+import faang.school.postservice.dto.PostBatchRequestDto;
 import faang.school.postservice.dto.PostDto;
+import faang.school.postservice.dto.PostLookupDto;
+import faang.school.postservice.dto.PostPageDto;
 import faang.school.postservice.dto.ResourceDto;
 import faang.school.postservice.exception.DataValidationException;
 import faang.school.postservice.service.PostService;
 import faang.school.postservice.exception.MaxUploadCountExceededException;
 import faang.school.postservice.service.PostServiceImpl;
 import faang.school.postservice.service.PostServiceImpl;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -46,6 +50,11 @@ public class PostController {
         return postService.publishPost(postId);
     }
 
+    @PutMapping("/{postId}/unpublish")
+    public PostDto unpublishPost(@PathVariable @Positive Long postId) {
+        return postService.unpublishPost(postId);
+    }
+
     @PutMapping("/{postId}")
     public PostDto updatePost(@PathVariable @Positive Long postId, @RequestBody PostDto postDto) {
         isInvalidToCreate(postDto);
@@ -62,6 +71,11 @@ public class PostController {
         return postService.getPostById(postId);
     }
 
+    @PostMapping("/batch")
+    public List<PostLookupDto> getPostsByIds(@RequestBody @Valid PostBatchRequestDto request) {
+        return postService.getPostsByIds(request.ids());
+    }
+
     @GetMapping("/users/{authorId}/drafts")
     public List<PostDto> getAllDraftsByAuthorId(@PathVariable @Positive Long authorId) {
         return postService.getAllDraftsByAuthorId(authorId);
@@ -72,6 +86,20 @@ public class PostController {
         return postService.getAllDraftsByProjectId(projectId);
     }
 
+    @GetMapping(value = "/users/{authorId}/drafts", params = "limit")
+    public PostPageDto getDraftsByAuthorId(@PathVariable @Positive Long authorId,
+                                           @RequestParam(required = false) String cursor,
+                                           @RequestParam int limit) {
+        return postService.getDraftsByAuthorId(authorId, cursor, limit);
+    }
+
+    @GetMapping(value = "/projects/{projectId}/drafts", params = "limit")
+    public PostPageDto getDraftsByProjectId(@PathVariable @Positive Long projectId,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam int limit) {
+        return postService.getDraftsByProjectId(projectId, cursor, limit);
+    }
+
     @GetMapping("/users/{authorId}/published")
     public List<PostDto> getAllPublishedPostsByAuthorId(@PathVariable @Positive Long authorId) {
         return postService.getAllPublishedPostsByAuthorId(authorId);
@@ -82,6 +110,20 @@ public class PostController {
         return postService.getAllPublishedPostsByProjectId(projectId);
     }
 
+    @GetMapping(value = "/users/{authorId}/published", params = "limit")
+    public PostPageDto getPublishedPostsByAuthorId(@PathVariable @Positive Long authorId,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestParam int limit) {
+        return postService.getPublishedPostsByAuthorId(authorId, cursor, limit);
+    }
+
+    @GetMapping(value = "/projects/{projectId}/published", params = "limit")
+    public PostPageDto getPublishedPostsByProjectId(@PathVariable @Positive Long projectId,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam int limit) {
+        return postService.getPublishedPostsByProjectId(projectId, cursor, limit);
+    }
+
     @PutMapping(value = "/{postId}/images", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<?> uploadImageToPost(@PathVariable @Positive Long postId,
                                                               @RequestParam("files") List<MultipartFile> files) {
@@ -0,0 +1,6 @@
+package faang.school.postservice.dto;
+
+import java.time.OffsetDateTime;
+
+public record ModerationCandidate(long postId, String content, OffsetDateTime updatedAt) {
+}
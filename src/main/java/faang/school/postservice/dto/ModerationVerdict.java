@@ -0,0 +1,9 @@
+package faang.school.postservice.dto;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Verdict for the version of a post identified by {@code updatedAt}.
+ */
+public record ModerationVerdict(long postId, boolean verified, OffsetDateTime updatedAt) {
+}
@@ -0,0 +1,11 @@
+package faang.school.postservice.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public record PostBatchRequestDto(
+        @NotEmpty List<@NotNull Long> ids
+) {
+}
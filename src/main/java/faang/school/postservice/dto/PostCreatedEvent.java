@@ -17,4 +17,7 @@ public class PostCreatedEvent {
     private Long authorId;
     private LocalDateTime createdAt;
     private List<Long> followerIds;
+    private boolean pullMode;
+    private int chunkIndex;
+    private int chunkCount;
 }
\ No newline at end of file
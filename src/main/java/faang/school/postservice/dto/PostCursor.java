@@ -0,0 +1,40 @@
+package faang.school.postservice.dto;
+
+import faang.school.postservice.exception.DataValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position of the last post on a page of posts ordered by a timestamp and then id, both
+ * descending. Clients only see the opaque encoded form.
+ */
+public record PostCursor(
+        LocalDateTime timestamp,
+        long postId
+) {
+    private static final String SEPARATOR = ",";
+
+    public static PostCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR);
+            if (parts.length != 2) {
+                throw new DataValidationException("Invalid post cursor");
+            }
+            return new PostCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new DataValidationException("Invalid post cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = timestamp + SEPARATOR + postId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
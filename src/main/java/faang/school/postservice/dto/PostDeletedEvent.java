@@ -0,0 +1,21 @@
+package faang.school.postservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostDeletedEvent {
+    private Long postId;
+    private Long authorId;
+    private List<Long> followerIds;
+    private boolean pullMode;
+    private int chunkIndex;
+    private int chunkCount;
+}
@@ -0,0 +1,8 @@
+package faang.school.postservice.dto;
+
+public record PostLookupDto(
+        Long postId,
+        boolean found,
+        PostDto post
+) {
+}
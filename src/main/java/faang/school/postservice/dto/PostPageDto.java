@@ -0,0 +1,9 @@
+package faang.school.postservice.dto;
+
+import java.util.List;
+
+public record PostPageDto(
+        List<PostDto> posts,
+        String nextCursor
+) {
+}
@@ -0,0 +1,9 @@
+package faang.school.postservice.dto;
+
+import java.time.LocalDateTime;
+
+public interface ScheduledPostProjection {
+    Long getId();
+
+    LocalDateTime getScheduledAt();
+}
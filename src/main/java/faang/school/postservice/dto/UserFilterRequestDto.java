@@ -1,9 +1,22 @@
 package faang.school.postservice.dto;
 
+/**
+ * Query filter for user-service list endpoints. {@code afterId} and {@code limit} page the result
+ * by user id: only users with a greater id are returned, at most {@code limit} of them.
+ */
 public record UserFilterRequestDto(
         String namePattern,
         String phonePattern,
         Integer experienceMin,
-        Integer experienceMax
+        Integer experienceMax,
+        Long afterId,
+        Integer limit
 ) {
+    public UserFilterRequestDto(String namePattern, String phonePattern, Integer experienceMin, Integer experienceMax) {
+        this(namePattern, phonePattern, experienceMin, experienceMax, null, null);
+    }
+
+    public static UserFilterRequestDto page(Long afterId, int limit) {
+        return new UserFilterRequestDto(null, null, null, null, afterId, limit);
+    }
 }
@@ -0,0 +1,42 @@
+package faang.school.postservice.dto.feed;
+
+import faang.school.postservice.exception.DataValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last post returned on a feed page: its ZSET score and id.
+ * Clients only see the opaque encoded form.
+ */
+public record FeedCursor(
+        double score,
+        long postId
+) {
+    private static final String SEPARATOR = ":";
+
+    public static FeedCursor after(FeedEntry entry) {
+        return new FeedCursor(entry.score(), entry.postId());
+    }
+
+    public static FeedCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR);
+            if (parts.length != 2) {
+                throw new DataValidationException("Invalid feed cursor");
+            }
+            return new FeedCursor(Double.parseDouble(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new DataValidationException("Invalid feed cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = score + SEPARATOR + postId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
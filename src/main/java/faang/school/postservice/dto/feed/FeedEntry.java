@@ -0,0 +1,13 @@
+package faang.school.postservice.dto.feed;
+
+import java.util.Comparator;
+
+public record FeedEntry(
+        long postId,
+        double score
+) {
+    public static final Comparator<FeedEntry> NEWEST_FIRST = Comparator
+            .comparingDouble(FeedEntry::score)
+            .thenComparingLong(FeedEntry::postId)
+            .reversed();
+}
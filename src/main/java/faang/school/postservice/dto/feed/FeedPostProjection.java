@@ -0,0 +1,11 @@
+package faang.school.postservice.dto.feed;
+
+import java.time.LocalDateTime;
+
+public interface FeedPostProjection {
+    Long getId();
+
+    Long getAuthorId();
+
+    LocalDateTime getPublishedAt();
+}
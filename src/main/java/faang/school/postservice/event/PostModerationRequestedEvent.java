@@ -0,0 +1,8 @@
+package faang.school.postservice.event;
+
+/**
+ * Published inside the transaction that made a post visible or changed its content; handled after
+ * commit by {@link faang.school.postservice.service.PostModerationListener}.
+ */
+public record PostModerationRequestedEvent(Long postId) {
+}
@@ -17,9 +17,10 @@ public interface PostMapper {
     @Mapping(target = "verified", ignore = true)
     @Mapping(target = "verifiedDate", ignore = true)
     @Mapping(target = "tags", ignore = true)
+    @Mapping(target = "likeCount", ignore = true)
+    @Mapping(target = "commentCount", ignore = true)
     Post toEntity(PostDto postDto);
 
-    @Mapping(target = "likeCount", expression = "java((long) (post.getLikes() != null ? post.getLikes().size() : 0))")
     PostDto toDto(Post post);
 
     @Mapping(target = "id", ignore = true)
@@ -31,5 +32,7 @@ public interface PostMapper {
     @Mapping(target = "verified", ignore = true)
     @Mapping(target = "verifiedDate", ignore = true)
     @Mapping(target = "tags", ignore = true)
+    @Mapping(target = "likeCount", ignore = true)
+    @Mapping(target = "commentCount", ignore = true)
     void update(PostDto postDto, @MappingTarget Post post);
 }
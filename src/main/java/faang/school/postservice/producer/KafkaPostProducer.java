@@ -1,7 +1,10 @@
 package faang.school.postservice.producer;
 
 import faang.school.postservice.dto.PostCreatedEvent;
+import faang.school.postservice.dto.PostDeletedEvent;
 
 public interface KafkaPostProducer {
-    void sendPostCreatedEvent(PostCreatedEvent event);
+    PostEventSend sendPostCreatedEvent(PostCreatedEvent event);
+
+    PostEventSend sendPostDeletedEvent(PostDeletedEvent event);
 }
@@ -1,29 +1,147 @@
 package faang.school.postservice.producer;
 
 import faang.school.postservice.dto.PostCreatedEvent;
+import faang.school.postservice.dto.PostDeletedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class KafkaPostProducerImpl implements KafkaPostProducer {
 
     private final KafkaTemplate<String, PostCreatedEvent> kafkaTemplate;
+    private final KafkaTemplate<String, PostDeletedEvent> postDeletedKafkaTemplate;
 
     @Value("${spring.kafka.topic.post-created.name}")
     private String topic;
 
+    @Value("${spring.kafka.topic.post-created.partition}")
+    private int shardCount;
+
+    @Value("${app.feed.fan-out.event-chunk-size}")
+    private int chunkSize;
+
+    /**
+     * Splits the followers into chunks of at most {@code chunkSize} ids, grouped by follower shard,
+     * and sends every chunk keyed by its shard to the partition of the same number, so fan-out
+     * is spread over all partitions instead of the default hash of the key.
+     * <p>
+     * Chunks are numbered from the event's {@code chunkIndex}, so a large audience can be sent one
+     * follower page at a time. The given event is not modified.
+     *
+     * @return the number of chunks sent and a future completing when every chunk is acknowledged
+     */
+    @Override
+    public PostEventSend sendPostCreatedEvent(PostCreatedEvent event) {
+        List<Long> followerIds = event.getFollowerIds();
+        if (event.isPullMode() || followerIds == null || followerIds.isEmpty()) {
+            PostCreatedEvent single = PostCreatedEvent.builder()
+                    .postId(event.getPostId())
+                    .authorId(event.getAuthorId())
+                    .createdAt(event.getCreatedAt())
+                    .followerIds(followerIds)
+                    .pullMode(event.isPullMode())
+                    .chunkIndex(event.getChunkIndex())
+                    .chunkCount(1)
+                    .build();
+            return new PostEventSend(send(kafkaTemplate, null, String.valueOf(event.getAuthorId()), single), 1);
+        }
+
+        List<ShardChunk> chunks = splitByShard(followerIds);
+        List<CompletableFuture<?>> sends = new ArrayList<>(chunks.size());
+        for (int chunkIndex = 0; chunkIndex < chunks.size(); chunkIndex++) {
+            ShardChunk chunk = chunks.get(chunkIndex);
+            PostCreatedEvent chunkEvent = PostCreatedEvent.builder()
+                    .postId(event.getPostId())
+                    .authorId(event.getAuthorId())
+                    .createdAt(event.getCreatedAt())
+                    .followerIds(chunk.followerIds())
+                    .chunkIndex(event.getChunkIndex() + chunkIndex)
+                    .chunkCount(chunks.size())
+                    .build();
+            sends.add(send(kafkaTemplate, chunk.shard(), String.valueOf(chunk.shard()), chunkEvent));
+        }
+        log.info("Published post {} fan-out as {} chunks for {} followers",
+                event.getPostId(), chunks.size(), followerIds.size());
+        return new PostEventSend(CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)), chunks.size());
+    }
+
+    /**
+     * Sends the removal with the same sharding as {@link #sendPostCreatedEvent}, so a removal chunk
+     * lands on the partition of the insert it undoes and is consumed after it.
+     */
     @Override
-    public void sendPostCreatedEvent(PostCreatedEvent event) {
+    public PostEventSend sendPostDeletedEvent(PostDeletedEvent event) {
+        List<Long> followerIds = event.getFollowerIds();
+        if (event.isPullMode() || followerIds == null || followerIds.isEmpty()) {
+            PostDeletedEvent single = PostDeletedEvent.builder()
+                    .postId(event.getPostId())
+                    .authorId(event.getAuthorId())
+                    .followerIds(followerIds)
+                    .pullMode(event.isPullMode())
+                    .chunkIndex(event.getChunkIndex())
+                    .chunkCount(1)
+                    .build();
+            return new PostEventSend(
+                    send(postDeletedKafkaTemplate, null, String.valueOf(event.getAuthorId()), single), 1);
+        }
+
+        List<ShardChunk> chunks = splitByShard(followerIds);
+        List<CompletableFuture<?>> sends = new ArrayList<>(chunks.size());
+        for (int chunkIndex = 0; chunkIndex < chunks.size(); chunkIndex++) {
+            ShardChunk chunk = chunks.get(chunkIndex);
+            PostDeletedEvent chunkEvent = PostDeletedEvent.builder()
+                    .postId(event.getPostId())
+                    .authorId(event.getAuthorId())
+                    .followerIds(chunk.followerIds())
+                    .chunkIndex(event.getChunkIndex() + chunkIndex)
+                    .chunkCount(chunks.size())
+                    .build();
+            sends.add(send(postDeletedKafkaTemplate, chunk.shard(), String.valueOf(chunk.shard()), chunkEvent));
+        }
+        log.info("Published post {} removal as {} chunks for {} followers",
+                event.getPostId(), chunks.size(), followerIds.size());
+        return new PostEventSend(CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)), chunks.size());
+    }
+
+    private List<ShardChunk> splitByShard(List<Long> followerIds) {
+        Map<Integer, List<List<Long>>> chunksByShard = new TreeMap<>();
+        for (Long followerId : followerIds) {
+            int shard = (int) Math.floorMod(followerId, (long) shardCount);
+            List<List<Long>> chunks = chunksByShard.computeIfAbsent(shard, key -> new ArrayList<>());
+            if (chunks.isEmpty() || chunks.get(chunks.size() - 1).size() >= chunkSize) {
+                chunks.add(new ArrayList<>(Math.min(chunkSize, followerIds.size())));
+            }
+            chunks.get(chunks.size() - 1).add(followerId);
+        }
+
+        List<ShardChunk> result = new ArrayList<>();
+        chunksByShard.forEach((shard, chunks) -> chunks.forEach(chunk -> result.add(new ShardChunk(shard, chunk))));
+        return result;
+    }
+
+    private <T> CompletableFuture<Void> send(KafkaTemplate<String, T> template, Integer partition, String key,
+                                             T event) {
         try {
-            kafkaTemplate.send(topic, event);
-            log.info("Published PostCreatedEvent to topic {}: {}", topic, event);
+            CompletableFuture<Void> sent = template.send(topic, partition, key, event).thenAccept(result -> { });
+            log.debug("Published {} to topic {} with key {}: {}", event.getClass().getSimpleName(), topic, key, event);
+            return sent;
         } catch (Exception e) {
             log.error("Failed to publish event: {}", event, e);
+            return CompletableFuture.failedFuture(e);
         }
     }
-}
\ No newline at end of file
+
+    private record ShardChunk(int shard, List<Long> followerIds) {
+    }
+}
@@ -0,0 +1,10 @@
+package faang.school.postservice.producer;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Outcome of sending one post event: the number of chunk messages it was split into and a future
+ * that completes when the broker has acknowledged all of them.
+ */
+public record PostEventSend(CompletableFuture<Void> acked, int chunkCount) {
+}
@@ -0,0 +1,32 @@
+package faang.school.postservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Number of currently rejected posts per author, kept up to date whenever a verdict is written or
+ * reset, so that offenders can be found without scanning the posts.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuthorOffenseCounterRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    public void addRejectedPosts(long authorId, int delta) {
+        jdbcTemplate.update("""
+                        INSERT INTO author_offense_counter (author_id, rejected_posts) VALUES (?, GREATEST(?, 0))
+                        ON CONFLICT (author_id) DO UPDATE
+                        SET rejected_posts = GREATEST(author_offense_counter.rejected_posts + ?, 0),
+                            updated_at = current_timestamp""",
+                authorId, delta, delta);
+    }
+
+    public List<Long> findAuthorsWithRejectedPostsAbove(int threshold) {
+        return jdbcTemplate.queryForList(
+                "SELECT author_id FROM author_offense_counter WHERE rejected_posts > ? ORDER BY author_id",
+                Long.class, threshold);
+    }
+}
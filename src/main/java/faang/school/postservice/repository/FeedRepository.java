@@ -1,20 +1,36 @@
 package faang.school.postservice.repository;
 
+import faang.school.postservice.config.context.FeedMemberRedisSerializer;
+import faang.school.postservice.dto.PostCreatedEvent;
+import faang.school.postservice.dto.PostDeletedEvent;
+import faang.school.postservice.dto.feed.FeedCursor;
+import faang.school.postservice.dto.feed.FeedEntry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.connection.zset.Tuple;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Repository;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Repository
 @RequiredArgsConstructor
@@ -22,42 +38,384 @@ import java.util.Set;
 public class FeedRepository {
 
     private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisTemplate<String, Long> feedRedisTemplate;
+    private final RedisScript<Long> feedAddScript;
 
     private static final String FEED_PREFIX = "feed:";
+    private static final String TIMELINE_PREFIX = "timeline:";
+    private static final String TIMELINE_AUTHORS_KEY = "timeline-authors";
+    private static final String FAN_OUT_CHUNK_PREFIX = "feed:fanout:";
+    private static final String REBUILT_PREFIX = "feed:rebuilt:";
+    private static final String WARM_UP_CHECKPOINT_KEY = "feed:warm-up:checkpoint";
+    private static final FeedMemberRedisSerializer MEMBER_SERIALIZER = new FeedMemberRedisSerializer();
+
+    /**
+     * The insert script arguments are passed pre-encoded: the member in the feed format and the
+     * score, size limit and TTL as decimal strings.
+     */
+    private static final RedisSerializer<byte[]> SCRIPT_ARGS_SERIALIZER = RedisSerializer.byteArray();
 
     @Value("${app.feed.max-size}")
     private int maxFeedSize;
 
+    @Value("${app.feed.ttl-seconds}")
+    private long feedTtlSeconds;
+
+    @Value("${app.feed.fan-out.batch-size}")
+    private int fanOutBatchSize;
+
+    @Value("${app.feed.fan-out.chunk-marker-ttl-seconds}")
+    private long chunkMarkerTtlSeconds;
+
+    @Value("${app.feed.rebuild.marker-ttl-seconds}")
+    private long rebuildMarkerTtlSeconds;
+
+    @PostConstruct
+    public void loadScripts() {
+        try {
+            String sha1 = feedRedisTemplate.execute((RedisCallback<String>) connection -> connection.scriptingCommands()
+                    .scriptLoad(feedAddScript.getScriptAsString().getBytes(StandardCharsets.UTF_8)));
+            log.info("Loaded feed insert script with sha1 {}", sha1);
+        } catch (DataAccessException e) {
+            log.warn("Failed to preload feed insert script, it will be loaded on first use: {}", e.getMessage());
+        }
+    }
+
     public void addPostToFeed(Long followerId, Long postId, LocalDateTime createdAt) {
         String redisKey = FEED_PREFIX + followerId;
-        double score = createdAt.toEpochSecond(ZoneOffset.UTC);
+        long score = createdAt.toEpochSecond(ZoneOffset.UTC);
+
+        Long feedSize = feedRedisTemplate.execute(feedAddScript, SCRIPT_ARGS_SERIALIZER, MEMBER_SERIALIZER,
+                List.of(redisKey), FeedMemberRedisSerializer.encode(postId), scriptArg(score), scriptArg(maxFeedSize),
+                scriptArg(feedTtlSeconds));
+        log.debug("Added post {} to feed of follower {} with score {}, feed size is now {}",
+                postId, followerId, score, feedSize);
+    }
+
+    /**
+     * Adds the post to every follower's feed, sending the insert-and-trim script for a chunk of
+     * {@code app.feed.fan-out.batch-size} followers in one pipelined round-trip. A failed chunk is
+     * retried once after reloading the script, which covers a Redis restart dropping the script cache.
+     */
+    public void addPostToFeeds(List<Long> followerIds, Long postId, LocalDateTime createdAt) {
+        long score = createdAt.toEpochSecond(ZoneOffset.UTC);
+        List<FeedInsert> inserts = followerIds.stream()
+                .map(followerId -> new FeedInsert(followerId, postId, score))
+                .toList();
+
+        long fanOutStartedAt = System.nanoTime();
+        insertPipelined(inserts);
+        log.info("Added post {} to {} feeds in {} ms using chunks of {}",
+                postId, followerIds.size(), millisSince(fanOutStartedAt), fanOutBatchSize);
+    }
+
+    /**
+     * Applies the follower updates of a whole poll batch of fan-out events as one pipelined stream,
+     * flushed every {@code app.feed.fan-out.batch-size} inserts.
+     */
+    public void addPostsToFeeds(List<PostCreatedEvent> events) {
+        List<FeedInsert> inserts = new ArrayList<>();
+        for (PostCreatedEvent event : events) {
+            long score = event.getCreatedAt().toEpochSecond(ZoneOffset.UTC);
+            event.getFollowerIds().forEach(followerId -> inserts.add(new FeedInsert(followerId, event.getPostId(), score)));
+        }
+
+        long fanOutStartedAt = System.nanoTime();
+        insertPipelined(inserts);
+        log.info("Applied {} feed inserts from {} events in {} ms using chunks of {}",
+                inserts.size(), events.size(), millisSince(fanOutStartedAt), fanOutBatchSize);
+    }
+
+    private void insertPipelined(List<FeedInsert> inserts) {
+        for (int from = 0; from < inserts.size(); from += fanOutBatchSize) {
+            List<FeedInsert> chunk = inserts.subList(from, Math.min(from + fanOutBatchSize, inserts.size()));
+            long chunkStartedAt = System.nanoTime();
+
+            try {
+                executeInserts(chunk);
+            } catch (DataAccessException e) {
+                log.warn("Pipelined fan-out failed, reloading script and retrying chunk: {}", e.getMessage());
+                loadScripts();
+                executeInserts(chunk);
+            }
+
+            log.debug("Applied {} feed inserts in {} ms", chunk.size(), millisSince(chunkStartedAt));
+        }
+    }
+
+    private void executeInserts(List<FeedInsert> inserts) {
+        feedRedisTemplate.executePipelined(new SessionCallback<>() {
+            @Override
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                for (FeedInsert insert : inserts) {
+                    operations.execute(feedAddScript, SCRIPT_ARGS_SERIALIZER, MEMBER_SERIALIZER,
+                            List.of(FEED_PREFIX + insert.followerId()), FeedMemberRedisSerializer.encode(insert.postId()),
+                            scriptArg(insert.score()), scriptArg(maxFeedSize), scriptArg(feedTtlSeconds));
+                }
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Removes deleted posts from the feeds of the followers in the events, pipelining ZREMs in
+     * chunks of {@code app.feed.fan-out.batch-size}. Pull-mode removals drop the post from the
+     * author's timeline instead. Each ZREM also names the legacy JSON forms of the member, so
+     * entries written before the binary format are removed too.
+     */
+    public void removePostsFromFeeds(List<PostDeletedEvent> events) {
+        List<FeedRemoval> removals = new ArrayList<>();
+        List<PostDeletedEvent> timelineRemovals = new ArrayList<>();
+        for (PostDeletedEvent event : events) {
+            if (event.isPullMode()) {
+                timelineRemovals.add(event);
+            } else if (event.getFollowerIds() != null) {
+                event.getFollowerIds().forEach(followerId -> removals.add(new FeedRemoval(followerId, event.getPostId())));
+            }
+        }
 
-        redisTemplate.execute(new SessionCallback<>() {
+        long startedAt = System.nanoTime();
+        for (int from = 0; from < removals.size(); from += fanOutBatchSize) {
+            List<FeedRemoval> chunk = removals.subList(from, Math.min(from + fanOutBatchSize, removals.size()));
+            feedRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (FeedRemoval removal : chunk) {
+                    connection.zSetCommands().zRem(rawKey(FEED_PREFIX + removal.followerId()),
+                            FeedMemberRedisSerializer.encodeAll(removal.postId()));
+                }
+                return null;
+            });
+        }
+        if (!timelineRemovals.isEmpty()) {
+            feedRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (PostDeletedEvent event : timelineRemovals) {
+                    connection.zSetCommands().zRem(rawKey(TIMELINE_PREFIX + event.getAuthorId()),
+                            FeedMemberRedisSerializer.encodeAll(event.getPostId()));
+                }
+                return null;
+            });
+        }
+
+        log.info("Removed posts from {} feeds and {} timelines in {} ms",
+                removals.size(), timelineRemovals.size(), millisSince(startedAt));
+    }
+
+    /**
+     * Returns the events whose fan-out chunk has not been applied yet, checked with a single MGET.
+     * Markers are kept per publication, so a post that is unpublished and published again is
+     * fanned out again.
+     */
+    public List<PostCreatedEvent> findPendingFanOutChunks(List<PostCreatedEvent> events) {
+        if (events.isEmpty()) {
+            return List.of();
+        }
+        List<String> markerKeys = events.stream()
+                .map(this::fanOutChunkKey)
+                .toList();
+        List<Object> markers = redisTemplate.opsForValue().multiGet(markerKeys);
+        if (markers == null) {
+            return events;
+        }
+
+        List<PostCreatedEvent> pending = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            if (markers.get(i) == null) {
+                pending.add(events.get(i));
+            }
+        }
+        return pending;
+    }
+
+    public void markFanOutChunksDone(List<PostCreatedEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        redisTemplate.executePipelined(new SessionCallback<>() {
             @Override
             public Object execute(RedisOperations operations) throws DataAccessException {
-                operations.watch(redisKey);
-
-                operations.multi();
-                operations.opsForZSet().add(redisKey, postId, score);
-                operations.opsForZSet().removeRange(redisKey, 0, -maxFeedSize - 1);
-
-                List<Object> results = operations.exec();
-                if (results == null) {
-                    log.warn("Transaction failed for adding post {} to feed of follower {}", postId, followerId);
-                } else {
-                    log.debug("Added post {} to feed of follower {} with score {} and trimmed to max {}",
-                            postId, followerId, score, maxFeedSize);
+                for (PostCreatedEvent event : events) {
+                    operations.opsForValue().set(fanOutChunkKey(event), 1, chunkMarkerTtlSeconds, TimeUnit.SECONDS);
                 }
                 return null;
             }
         });
     }
 
-    public List<Object> getFeed(Long followerId) {
+    private String fanOutChunkKey(PostCreatedEvent event) {
+        long publishedAt = event.getCreatedAt() == null ? 0L
+                : event.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+        return FAN_OUT_CHUNK_PREFIX + event.getPostId() + ":" + publishedAt + ":" + event.getChunkIndex();
+    }
+
+    /**
+     * Stores a post of a high-follower author in the author's own timeline instead of pushing it
+     * to every follower; readers merge the timeline into their feed.
+     */
+    public void addPostToTimeline(Long authorId, Long postId, LocalDateTime createdAt) {
+        long score = createdAt.toEpochSecond(ZoneOffset.UTC);
+
+        redisTemplate.opsForSet().add(TIMELINE_AUTHORS_KEY, authorId);
+        feedRedisTemplate.execute(feedAddScript, SCRIPT_ARGS_SERIALIZER, MEMBER_SERIALIZER,
+                List.of(TIMELINE_PREFIX + authorId), FeedMemberRedisSerializer.encode(postId), scriptArg(score),
+                scriptArg(maxFeedSize), scriptArg(0L));
+        log.debug("Added post {} to timeline of author {} with score {}", postId, authorId, score);
+    }
+
+    public List<Long> findTimelineAuthors(List<Long> authorIds) {
+        if (authorIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Object, Boolean> membership = redisTemplate.opsForSet().isMember(TIMELINE_AUTHORS_KEY, authorIds.toArray());
+        if (membership == null) {
+            return List.of();
+        }
+        return authorIds.stream()
+                .filter(authorId -> Boolean.TRUE.equals(membership.get(authorId)))
+                .toList();
+    }
+
+    public List<FeedEntry> getTimelinePage(Long authorId, FeedCursor cursor, int limit) {
+        return readPage(TIMELINE_PREFIX + authorId, cursor, limit);
+    }
+
+    public boolean isFeedRebuilt(Long followerId) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(REBUILT_PREFIX + followerId));
+    }
+
+    /**
+     * Merges entries rebuilt from the database into the feed and marks it as rebuilt, so an empty
+     * feed is not rebuilt again on every read until the marker expires. Entries are added rather
+     * than replacing the ZSET because fan-out may have inserted newer posts meanwhile.
+     */
+    public void storeRebuiltFeed(Long followerId, List<FeedEntry> entries) {
         String redisKey = FEED_PREFIX + followerId;
-        Set<Object> feed = redisTemplate.opsForZSet().reverseRange(redisKey, 0, maxFeedSize - 1);
-        log.debug("Retrieved {} posts from feed of user {}", feed != null ? feed.size() : 0, followerId);
-        return feed != null ? new ArrayList<>(feed) : Collections.emptyList();
+        Set<ZSetOperations.TypedTuple<Long>> tuples = entries.stream()
+                .map(entry -> ZSetOperations.TypedTuple.of(entry.postId(), entry.score()))
+                .collect(Collectors.toSet());
+
+        if (!tuples.isEmpty()) {
+            feedRedisTemplate.executePipelined(new SessionCallback<>() {
+                @Override
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    operations.opsForZSet().add(redisKey, tuples);
+                    operations.opsForZSet().removeRange(redisKey, 0, -maxFeedSize - 1);
+                    if (feedTtlSeconds > 0) {
+                        operations.expire(redisKey, feedTtlSeconds, TimeUnit.SECONDS);
+                    }
+                    return null;
+                }
+            });
+        }
+        redisTemplate.opsForValue().set(REBUILT_PREFIX + followerId, 1, rebuildMarkerTtlSeconds, TimeUnit.SECONDS);
+        log.info("Stored {} rebuilt entries in feed of user {}", entries.size(), followerId);
+    }
+
+    public long getWarmUpCheckpoint() {
+        Object checkpoint = redisTemplate.opsForValue().get(WARM_UP_CHECKPOINT_KEY);
+        return checkpoint instanceof Number lastPostId ? lastPostId.longValue() : 0L;
+    }
+
+    public void saveWarmUpCheckpoint(long lastPostId) {
+        redisTemplate.opsForValue().set(WARM_UP_CHECKPOINT_KEY, lastPostId);
+    }
+
+    public void clearWarmUpCheckpoint() {
+        redisTemplate.delete(WARM_UP_CHECKPOINT_KEY);
     }
-}
 
+    /**
+     * Returns the newest post ids of the feed, decoded straight from the raw members without
+     * boxing them.
+     */
+    public long[] getFeed(Long followerId) {
+        byte[] redisKey = rawKey(FEED_PREFIX + followerId);
+        Set<byte[]> members = feedRedisTemplate.execute((RedisCallback<Set<byte[]>>) connection ->
+                connection.zSetCommands().zRevRange(redisKey, 0, maxFeedSize - 1));
+        if (members == null) {
+            return new long[0];
+        }
+
+        long[] postIds = new long[members.size()];
+        int i = 0;
+        for (byte[] member : members) {
+            postIds[i++] = FeedMemberRedisSerializer.decode(member);
+        }
+        log.debug("Retrieved {} posts from feed of user {}", postIds.length, followerId);
+        return postIds;
+    }
+
+    public List<FeedEntry> getFeedPage(Long followerId, FeedCursor cursor, int limit) {
+        List<FeedEntry> page = readPage(FEED_PREFIX + followerId, cursor, limit);
+        log.debug("Retrieved page of {} posts from feed of user {}", page.size(), followerId);
+        return page;
+    }
+
+    /**
+     * Reads up to {@code limit} entries ordered by score and then post id, both descending,
+     * that come strictly after {@code cursor}. Uses ZREVRANGEBYSCORE so only the requested
+     * slice of the ZSET is transferred, and decodes the raw members without boxing the ids.
+     */
+    private List<FeedEntry> readPage(String redisKey, FeedCursor cursor, int limit) {
+        byte[] key = rawKey(redisKey);
+        List<FeedEntry> page = new ArrayList<>(limit);
+        double maxScore = Double.POSITIVE_INFINITY;
+
+        if (cursor != null) {
+            readEntries(zSet -> zSet.zRevRangeByScoreWithScores(key, cursor.score(), cursor.score())).stream()
+                    .filter(entry -> entry.postId() < cursor.postId())
+                    .sorted(FeedEntry.NEWEST_FIRST)
+                    .limit(limit)
+                    .forEach(page::add);
+            maxScore = Math.nextDown(cursor.score());
+        }
+
+        int remaining = limit - page.size();
+        if (remaining == 0) {
+            return page;
+        }
+
+        double olderThan = maxScore;
+        List<FeedEntry> older = readEntries(zSet -> zSet.zRevRangeByScoreWithScores(
+                key, Double.NEGATIVE_INFINITY, olderThan, 0, remaining + 1));
+        if (older.size() > remaining && older.get(remaining).score() == older.get(remaining - 1).score()) {
+            // Posts with the same score straddle the page boundary, so the ones Redis picked
+            // are not necessarily the highest ids. Load the whole tie group to keep the order stable.
+            double boundaryScore = older.get(remaining).score();
+            older.removeIf(entry -> entry.score() == boundaryScore);
+            older.addAll(readEntries(zSet -> zSet.zRangeByScoreWithScores(key, boundaryScore, boundaryScore)));
+        }
+        older.sort(FeedEntry.NEWEST_FIRST);
+        page.addAll(older.subList(0, Math.min(remaining, older.size())));
+        return page;
+    }
+
+    private List<FeedEntry> readEntries(Function<RedisZSetCommands, Set<Tuple>> range) {
+        Set<Tuple> tuples = feedRedisTemplate.execute((RedisCallback<Set<Tuple>>) connection ->
+                range.apply(connection.zSetCommands()));
+        if (tuples == null) {
+            return new ArrayList<>();
+        }
+        List<FeedEntry> entries = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            entries.add(new FeedEntry(FeedMemberRedisSerializer.decode(tuple.getValue()), tuple.getScore()));
+        }
+        return entries;
+    }
+
+    private static byte[] rawKey(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] scriptArg(long value) {
+        return Long.toString(value).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private long millisSince(long startedAtNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAtNanos);
+    }
+
+    private record FeedInsert(long followerId, long postId, long score) {
+    }
+
+    private record FeedRemoval(long followerId, long postId) {
+    }
+}
@@ -0,0 +1,50 @@
+package faang.school.postservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Redis leases for jobs that must run on one instance at a time. A lease is held by an owner token
+ * and only that owner can extend or release it.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LeaseRepository {
+    private static final String LEASE_PREFIX = "lease:";
+    private static final RedisScript<Long> EXTEND_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 0""", Long.class);
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0""", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public boolean tryAcquire(String name, String owner, Duration ttl) {
+        String key = LEASE_PREFIX + name;
+        if (Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(key, owner, ttl))) {
+            return true;
+        }
+        return extend(name, owner, ttl);
+    }
+
+    public boolean extend(String name, String owner, Duration ttl) {
+        Long extended = stringRedisTemplate.execute(EXTEND_SCRIPT, List.of(LEASE_PREFIX + name),
+                owner, String.valueOf(ttl.toMillis()));
+        return extended != null && extended == 1;
+    }
+
+    public void release(String name, String owner) {
+        stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(LEASE_PREFIX + name), owner);
+    }
+}
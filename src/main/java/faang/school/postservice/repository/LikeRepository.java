@@ -8,7 +8,7 @@ import java.util.Optional;
 
 public interface LikeRepository extends CrudRepository<Like, Long> {
     @Transactional
-    void deleteByPostIdAndUserId(long postId, long userId);
+    long deleteByPostIdAndUserId(long postId, long userId);
 
     @Transactional
     void deleteByCommentIdAndUserId(long commentId, long userId);
@@ -0,0 +1,42 @@
+package faang.school.postservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Set;
+
+/**
+ * Versioned moderation dictionaries in Redis. The words of every version live in their own set,
+ * {@code moderation:dictionary:{name}:{version}}, and {@code moderation:dictionary:{name}:version}
+ * points to the active one, so a new version is written in full before it becomes visible.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class ModerationDictionaryRepository {
+    private static final String KEY_PREFIX = "moderation:dictionary:";
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * Active version of the dictionary, or {@code null} when none is set or the pointer doesn't hold a number.
+     */
+    public Long getActiveVersion(String name) {
+        String version = stringRedisTemplate.opsForValue().get(KEY_PREFIX + name + ":version");
+        if (version == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(version.trim());
+        } catch (NumberFormatException e) {
+            log.error("Moderation dictionary {} has a malformed active version '{}', ignoring it", name, version);
+            return null;
+        }
+    }
+
+    public Set<String> getWords(String name, long version) {
+        return stringRedisTemplate.opsForSet().members(KEY_PREFIX + name + ":" + version);
+    }
+}
@@ -1,11 +1,23 @@
 package faang.school.postservice.repository;
 
 import faang.school.postservice.dto.PostCreatedEvent;
+import faang.school.postservice.dto.PostDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 @Repository
@@ -13,18 +25,156 @@ import java.util.concurrent.TimeUnit;
 public class PostCacheRepository {
 
     private final RedisTemplate<String, PostCreatedEvent> redisTemplate;
+    private final RedisTemplate<String, PostDto> postDtoRedisTemplate;
     private static final String POST_PREFIX = "post:";
+    private static final String POST_DTO_PREFIX = "post:dto:";
+    private static final String MISSING_POST_PREFIX = "post:missing:";
 
     @Value("${app.post-cache.ttl-seconds}")
     private long ttl;
 
+    @Value("${app.post-cache.dto-ttl-seconds}")
+    private long dtoTtl;
+
+    @Value("${app.post-cache.missing-ttl-seconds}")
+    private long missingTtl;
+
     public void cachePost(PostCreatedEvent event) {
         String redisKey = POST_PREFIX + event.getPostId();
         redisTemplate.opsForValue().set(redisKey, event, ttl, TimeUnit.SECONDS);
     }
 
+    public void cachePosts(Collection<PostCreatedEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        redisTemplate.executePipelined(new SessionCallback<>() {
+            @Override
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                for (PostCreatedEvent event : events) {
+                    operations.opsForValue().set(POST_PREFIX + event.getPostId(), event, ttl, TimeUnit.SECONDS);
+                }
+                return null;
+            }
+        });
+    }
+
+    public void evictPosts(Collection<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return;
+        }
+        List<String> redisKeys = new ArrayList<>(postIds.size() * 2);
+        postIds.forEach(postId -> {
+            redisKeys.add(POST_PREFIX + postId);
+            redisKeys.add(POST_DTO_PREFIX + postId);
+        });
+        redisTemplate.delete(redisKeys);
+    }
+
     public PostCreatedEvent getCachedPost(Long postId) {
         String redisKey = POST_PREFIX + postId;
         return redisTemplate.opsForValue().get(redisKey);
     }
-}
\ No newline at end of file
+
+    public Map<Long, PostDto> getCachedPostDtos(List<Long> postIds) {
+        List<String> redisKeys = postIds.stream()
+                .map(postId -> POST_DTO_PREFIX + postId)
+                .toList();
+        List<PostDto> cached = postDtoRedisTemplate.opsForValue().multiGet(redisKeys);
+
+        Map<Long, PostDto> result = new HashMap<>();
+        if (cached == null) {
+            return result;
+        }
+        for (int i = 0; i < postIds.size(); i++) {
+            PostDto postDto = cached.get(i);
+            if (postDto != null) {
+                result.put(postIds.get(i), postDto);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Looks up cached DTOs with one MGET and returns them in the order of {@code postIds}, with
+     * {@code null} for misses, so callers holding primitive ids need no id-keyed map.
+     */
+    public List<PostDto> getCachedPostDtos(long[] postIds) {
+        List<String> redisKeys = new ArrayList<>(postIds.length);
+        for (long postId : postIds) {
+            redisKeys.add(POST_DTO_PREFIX + postId);
+        }
+        List<PostDto> cached = postDtoRedisTemplate.opsForValue().multiGet(redisKeys);
+        return cached == null ? Arrays.asList(new PostDto[postIds.length]) : cached;
+    }
+
+    public void cachePostDtos(Collection<PostDto> postDtos) {
+        if (postDtos.isEmpty()) {
+            return;
+        }
+        postDtoRedisTemplate.executePipelined(new SessionCallback<>() {
+            @Override
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                for (PostDto postDto : postDtos) {
+                    operations.opsForValue().set(POST_DTO_PREFIX + postDto.getId(), postDto, dtoTtl, TimeUnit.SECONDS);
+                }
+                return null;
+            }
+        });
+    }
+
+    public PostDto getCachedPostDto(Long postId) {
+        return postDtoRedisTemplate.opsForValue().get(POST_DTO_PREFIX + postId);
+    }
+
+    public void cachePostDto(PostDto postDto) {
+        postDtoRedisTemplate.opsForValue().set(POST_DTO_PREFIX + postDto.getId(), postDto, dtoTtl, TimeUnit.SECONDS);
+    }
+
+    public boolean isPostMissing(Long postId) {
+        return Boolean.TRUE.equals(postDtoRedisTemplate.hasKey(MISSING_POST_PREFIX + postId));
+    }
+
+    public void cacheMissingPost(Long postId) {
+        postDtoRedisTemplate.opsForValue()
+                .set(MISSING_POST_PREFIX + postId, PostDto.builder().id(postId).build(), missingTtl, TimeUnit.SECONDS);
+    }
+
+    public Set<Long> findMissingPosts(List<Long> postIds) {
+        List<String> redisKeys = postIds.stream()
+                .map(postId -> MISSING_POST_PREFIX + postId)
+                .toList();
+        List<PostDto> markers = postDtoRedisTemplate.opsForValue().multiGet(redisKeys);
+
+        Set<Long> missing = new HashSet<>();
+        if (markers == null) {
+            return missing;
+        }
+        for (int i = 0; i < postIds.size(); i++) {
+            if (markers.get(i) != null) {
+                missing.add(postIds.get(i));
+            }
+        }
+        return missing;
+    }
+
+    public void cacheMissingPosts(Collection<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return;
+        }
+        postDtoRedisTemplate.executePipelined(new SessionCallback<>() {
+            @Override
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                for (Long postId : postIds) {
+                    operations.opsForValue().set(MISSING_POST_PREFIX + postId, PostDto.builder().id(postId).build(),
+                            missingTtl, TimeUnit.SECONDS);
+                }
+                return null;
+            }
+        });
+    }
+
+    public void evictPostDto(Long postId) {
+        postDtoRedisTemplate.delete(List.of(POST_DTO_PREFIX + postId, MISSING_POST_PREFIX + postId));
+    }
+}
@@ -0,0 +1,33 @@
+package faang.school.postservice.repository;
+
+import faang.school.postservice.model.PostEventOutbox;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface PostEventOutboxRepository extends CrudRepository<PostEventOutbox, Long> {
+
+    /**
+     * Due events in id order, skipping every event queued behind a backed-off event of the same
+     * author so retries never reorder an author's events.
+     */
+    @Query(nativeQuery = true, value = """
+            SELECT * FROM post_event_outbox o
+            WHERE o.next_attempt_at <= :now
+              AND NOT EXISTS (SELECT 1 FROM post_event_outbox e
+                              WHERE e.author_id = o.author_id AND e.id < o.id AND e.next_attempt_at > :now)
+            ORDER BY o.id
+            LIMIT :limit""")
+    List<PostEventOutbox> findReady(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM PostEventOutbox e WHERE e.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
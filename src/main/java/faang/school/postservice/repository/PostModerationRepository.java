@@ -0,0 +1,88 @@
+package faang.school.postservice.repository;
+
+import faang.school.postservice.dto.ModerationCandidate;
+import faang.school.postservice.dto.ModerationVerdict;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Plain JDBC access for the moderation sweep, which reads and writes posts by the page and has no
+ * use for managed entities.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PostModerationRepository {
+    private static final String VERDICT_ROW = "(?::bigint, ?::boolean, ?::timestamptz)";
+    /**
+     * Verdicts bound by one statement. Each takes three parameters and the driver allows 32767 per
+     * statement, so larger pages are written in several statements.
+     */
+    static final int MAX_VERDICTS_PER_STATEMENT = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<ModerationCandidate> findUnmoderatedAfter(long afterId, int limit) {
+        return jdbcTemplate.query("""
+                        SELECT p.id, p.content, p.updated_at FROM post p
+                        WHERE p.verified = FALSE AND p.verified_date IS NULL AND p.id > ?
+                        ORDER BY p.id
+                        LIMIT ?""",
+                (rs, rowNum) -> new ModerationCandidate(rs.getLong("id"), rs.getString("content"),
+                        rs.getObject("updated_at", OffsetDateTime.class)),
+                afterId, limit);
+    }
+
+    /**
+     * Writes the verdicts, at most {@link #MAX_VERDICTS_PER_STATEMENT} per statement. A verdict is
+     * skipped if its post was updated after it was read, since the edit requests a verdict of its
+     * own, or if the post got a verdict from a concurrent moderation in the meantime. Rejected posts
+     * that were written are added to {@code author_offense_counter} by the same statement.
+     *
+     * @return the number of posts updated
+     */
+    public int saveVerdicts(List<ModerationVerdict> verdicts, LocalDateTime verifiedDate) {
+        int written = 0;
+        for (int from = 0; from < verdicts.size(); from += MAX_VERDICTS_PER_STATEMENT) {
+            int to = Math.min(from + MAX_VERDICTS_PER_STATEMENT, verdicts.size());
+            written += saveVerdictChunk(verdicts.subList(from, to), verifiedDate);
+        }
+        return written;
+    }
+
+    private int saveVerdictChunk(List<ModerationVerdict> verdicts, LocalDateTime verifiedDate) {
+        String sql = """
+                WITH written AS (
+                    UPDATE post p SET verified = v.verified, verified_date = ?
+                    FROM (VALUES %s) AS v(id, verified, updated_at)
+                    WHERE p.id = v.id AND p.updated_at IS NOT DISTINCT FROM v.updated_at
+                      AND p.verified_date IS NULL
+                    RETURNING p.author_id, p.verified
+                ), counted AS (
+                    INSERT INTO author_offense_counter AS c (author_id, rejected_posts)
+                    SELECT author_id, count(*) FROM written
+                    WHERE NOT verified AND author_id IS NOT NULL
+                    GROUP BY author_id
+                    ON CONFLICT (author_id) DO UPDATE
+                    SET rejected_posts = c.rejected_posts + EXCLUDED.rejected_posts, updated_at = current_timestamp
+                )
+                SELECT count(*) FROM written"""
+                .formatted(String.join(", ", Collections.nCopies(verdicts.size(), VERDICT_ROW)));
+
+        List<Object> args = new ArrayList<>(verdicts.size() * 3 + 1);
+        args.add(verifiedDate);
+        for (ModerationVerdict verdict : verdicts) {
+            args.add(verdict.postId());
+            args.add(verdict.verified());
+            args.add(verdict.updatedAt());
+        }
+        Integer written = jdbcTemplate.queryForObject(sql, Integer.class, args.toArray());
+        return written == null ? 0 : written;
+    }
+}
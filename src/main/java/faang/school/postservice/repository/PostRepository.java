@@ -1,12 +1,18 @@
 package faang.school.postservice.repository;
 
+import faang.school.postservice.dto.ScheduledPostProjection;
+import faang.school.postservice.dto.feed.FeedPostProjection;
 import faang.school.postservice.model.Post;
+import jakarta.persistence.LockModeType;
 import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,23 +22,143 @@ public interface PostRepository extends CrudRepository<Post, Long> {
 
     List<Post> findByProjectId(long projectId);
 
-    @Query("SELECT p FROM Post p LEFT JOIN FETCH p.likes WHERE p.id = :postId")
-    Optional<Post> findByIdWithLikes(Long postId);
+    List<Post> findAllByIdIn(List<Long> postIds);
 
-    @Query("SELECT p FROM Post p LEFT JOIN FETCH p.likes WHERE p.projectId = :projectId")
-    List<Post> findByProjectIdWithLikes(long projectId);
+    @Query(nativeQuery = true, value = """
+            SELECT p.id AS id, p.author_id AS authorId, p.published_at AS publishedAt FROM post p
+            WHERE p.author_id IN (:authorIds) AND p.published = TRUE AND p.deleted = FALSE
+              AND p.published_at >= :since
+            ORDER BY p.published_at DESC, p.id DESC
+            LIMIT :limit""")
+    List<FeedPostProjection> findRecentPublishedByAuthors(@Param("authorIds") List<Long> authorIds,
+                                                          @Param("since") LocalDateTime since,
+                                                          @Param("limit") int limit);
 
-    @Query("SELECT p FROM Post p LEFT JOIN FETCH p.likes WHERE p.authorId = :authorId")
-    List<Post> findByAuthorIdWithLikes(long authorId);
+    @Query(nativeQuery = true, value = """
+            SELECT p.id AS id, p.author_id AS authorId, p.published_at AS publishedAt FROM post p
+            WHERE p.id > :afterId AND p.published = TRUE AND p.deleted = FALSE
+              AND p.published_at >= :since
+            ORDER BY p.id
+            LIMIT :limit""")
+    List<FeedPostProjection> findPublishedAfterId(@Param("afterId") long afterId,
+                                                  @Param("since") LocalDateTime since,
+                                                  @Param("limit") int limit);
 
-    @Query("SELECT p FROM Post p WHERE p.published = false AND p.deleted = false AND p.scheduledAt <= CURRENT_TIMESTAMP")
-    List<Post> findReadyToPublish();
+    @Query("""
+            SELECT p FROM Post p
+            WHERE p.authorId = :authorId AND p.published = true AND p.deleted = false
+            ORDER BY p.publishedAt DESC, p.id DESC""")
+    List<Post> findPublishedByAuthorId(long authorId, Pageable pageable);
 
-    @Query(value = "SELECT * FROM Post p WHERE p.verified = FALSE AND p.verified_date IS NULL ORDER BY p.created_at ASC LIMIT :limit" , nativeQuery = true)
-    List<Post> findUnverifiedPosts(@Param("limit") int limit);
+    @Query("""
+            SELECT p FROM Post p
+            WHERE p.authorId = :authorId AND p.published = true AND p.deleted = false
+              AND (p.publishedAt < :publishedAt OR (p.publishedAt = :publishedAt AND p.id < :postId))
+            ORDER BY p.publishedAt DESC, p.id DESC""")
+    List<Post> findPublishedByAuthorIdAfter(long authorId, LocalDateTime publishedAt, long postId, Pageable pageable);
 
-    @Query("SELECT p FROM Post p WHERE p.verified = false and p.verifiedDate IS NOT NULL")
-    List<Post> findByVerifiedFalse();
+    @Query("""
+            SELECT p FROM Post p
+            WHERE p.projectId = :projectId AND p.published = true AND p.deleted = false
+            ORDER BY p.publishedAt DESC, p.id DESC""")
+    List<Post> findPublishedByProjectId(long projectId, Pageable pageable);
+
+    @Query("""
+            SELECT p FROM Post p
+            WHERE p.projectId = :projectId AND p.published = true AND p.deleted = false
+              AND (p.publishedAt < :publishedAt OR (p.publishedAt = :publishedAt AND p.id < :postId))
+            ORDER BY p.publishedAt DESC, p.id DESC""")
+    List<Post> findPublishedByProjectIdAfter(long projectId, LocalDateTime publishedAt, long postId, Pageable pageable);
+
+    @Query("""
+            SELECT p FROM Post p
+            WHERE p.authorId = :authorId AND p.published = false AND p.deleted = false
+            ORDER BY p.createdAt DESC, p.id DESC""")
+    List<Post> findDraftsByAuthorId(long authorId, Pageable pageable);
+
+    @Query("""
+            SELECT p FROM Post p
+            WHERE p.authorId = :authorId AND p.published = false AND p.deleted = false
+              AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :postId))
+            ORDER BY p.createdAt DESC, p.id DESC""")
+    List<Post> findDraftsByAuthorIdAfter(long authorId, LocalDateTime createdAt, long postId, Pageable pageable);
+
+    @Query("""
+            SELECT p FROM Post p
+            WHERE p.projectId = :projectId AND p.published = false AND p.deleted = false
+            ORDER BY p.createdAt DESC, p.id DESC""")
+    List<Post> findDraftsByProjectId(long projectId, Pageable pageable);
+
+    @Query("""
+            SELECT p FROM Post p
+            WHERE p.projectId = :projectId AND p.published = false AND p.deleted = false
+              AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :postId))
+            ORDER BY p.createdAt DESC, p.id DESC""")
+    List<Post> findDraftsByProjectIdAfter(long projectId, LocalDateTime createdAt, long postId, Pageable pageable);
+
+    @Query(nativeQuery = true, value = """
+            SELECT p.id AS id, p.scheduled_at AS scheduledAt FROM post p
+            WHERE p.scheduled_at <= :until AND p.published = FALSE AND p.deleted = FALSE
+            ORDER BY p.scheduled_at
+            LIMIT :limit""")
+    List<ScheduledPostProjection> findScheduledBefore(@Param("until") LocalDateTime until,
+                                                      @Param("limit") int limit);
+
+    @Query(nativeQuery = true, value = """
+            SELECT * FROM post p
+            WHERE p.id IN (:postIds) AND p.scheduled_at <= :now AND p.published = FALSE AND p.deleted = FALSE
+            FOR UPDATE SKIP LOCKED""")
+    List<Post> claimScheduledPosts(@Param("postIds") List<Long> postIds, @Param("now") LocalDateTime now);
+
+    /**
+     * Loads the post with a row lock, so that no verdict is written for it until the caller commits.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Post p WHERE p.id = :postId")
+    Optional<Post> findByIdForUpdate(@Param("postId") long postId);
+
+    /**
+     * Stores a verdict only if the post was not changed since it was read for moderation and has
+     * no verdict yet, so that of two concurrent moderations only the first one is stored.
+     */
+    @Modifying
+    @Query("""
+            UPDATE Post p SET p.verified = :verified, p.verifiedDate = :verifiedDate
+            WHERE p.id = :postId AND p.updatedAt = :updatedAt AND p.verifiedDate IS NULL""")
+    int updateModerationVerdict(long postId, boolean verified, LocalDateTime verifiedDate, LocalDateTime updatedAt);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.likeCount = p.likeCount + :delta WHERE p.id = :postId")
+    void incrementLikeCount(long postId, long delta);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = p.commentCount + :delta WHERE p.id = :postId")
+    void incrementCommentCount(long postId, long delta);
+
+    @Query("SELECT COALESCE(MAX(p.id), 0) FROM Post p")
+    long findMaxId();
+
+    /**
+     * Locks the posts of an id range so that counter increments wait until the range is recounted.
+     */
+    @Query(nativeQuery = true, value = "SELECT id FROM post WHERE id > :afterId AND id <= :toId ORDER BY id FOR UPDATE")
+    List<Long> lockIdRange(@Param("afterId") long afterId, @Param("toId") long toId);
+
+    /**
+     * Must run after {@link #lockIdRange} in the same transaction: the counts are taken from the
+     * statement snapshot, so a row that was not locked beforehand could be overwritten with a count
+     * that misses a concurrent increment.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            UPDATE post p SET like_count = actual.like_count, comment_count = actual.comment_count
+            FROM (SELECT p2.id,
+                         (SELECT COUNT(*) FROM likes l WHERE l.post_id = p2.id) AS like_count,
+                         (SELECT COUNT(*) FROM comment c WHERE c.post_id = p2.id) AS comment_count
+                  FROM post p2 WHERE p2.id > :afterId AND p2.id <= :toId) actual
+            WHERE p.id = actual.id
+              AND (p.like_count <> actual.like_count OR p.comment_count <> actual.comment_count)""")
+    int reconcileCounters(@Param("afterId") long afterId, @Param("toId") long toId);
 
     @Modifying
     @Transactional
@@ -0,0 +1,22 @@
+package faang.school.postservice.scheduler;
+
+import faang.school.postservice.service.FeedWarmUpService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FeedWarmUpScheduler {
+
+    private final FeedWarmUpService feedWarmUpService;
+
+    @Scheduled(cron = "${app.scheduling.feed-warm-up-cron}")
+    public void startFeedWarmUp() {
+        if (!feedWarmUpService.start()) {
+            log.info("Feed warm-up is already running, skipping scheduled start");
+        }
+    }
+}
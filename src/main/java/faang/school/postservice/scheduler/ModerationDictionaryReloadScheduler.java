@@ -0,0 +1,18 @@
+package faang.school.postservice.scheduler;
+
+import faang.school.postservice.service.PostModerationDictionaryImpl;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ModerationDictionaryReloadScheduler {
+
+    private final PostModerationDictionaryImpl postModerationDictionary;
+
+    @Scheduled(fixedDelayString = "${app.scheduling.moderation-dictionary-reload-delay-millis}")
+    public void reloadDictionary() {
+        postModerationDictionary.reload();
+    }
+}
@@ -0,0 +1,18 @@
+package faang.school.postservice.scheduler;
+
+import faang.school.postservice.service.PostCounterReconciler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class PostCounterReconciliationScheduler {
+
+    private final PostCounterReconciler postCounterReconciler;
+
+    @Scheduled(cron = "${app.scheduling.post-counters-reconcile-cron}")
+    public void reconcileCounters() {
+        postCounterReconciler.reconcile();
+    }
+}
@@ -0,0 +1,18 @@
+package faang.school.postservice.scheduler;
+
+import faang.school.postservice.service.PostEventRelay;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class PostEventRelayScheduler {
+
+    private final PostEventRelay postEventRelay;
+
+    @Scheduled(fixedDelayString = "${app.scheduling.post-event-relay-delay-millis}")
+    public void relayPostEvents() {
+        postEventRelay.relay();
+    }
+}
@@ -1,23 +1,27 @@
 package faang.school.postservice.scheduler;
 
-import faang.school.postservice.service.PostService;
+import faang.school.postservice.service.PostModerationSweeper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+/**
+ * Catch-up sweep for posts without a verdict; new and edited posts are normally moderated right
+ * away by {@link faang.school.postservice.service.PostModerationListener}.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class PostModeratorScheduler implements Moderator {
 
-    private final PostService postService;
+    private final PostModerationSweeper postModerationSweeper;
 
     @Scheduled(cron = "${app.scheduling.daily-midnight-cron}")
     @Override
     public void startModerate() {
-        log.info("Post moderation started");
-        postService.moderatePosts();
-        log.info("All posts have been moderated");
+        log.info("Post moderation catch-up started");
+        postModerationSweeper.sweep();
+        log.info("Post moderation catch-up finished");
     }
 }
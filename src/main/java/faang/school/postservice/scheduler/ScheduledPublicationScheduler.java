@@ -0,0 +1,23 @@
+package faang.school.postservice.scheduler;
+
+import faang.school.postservice.service.ScheduledPublicationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ScheduledPublicationScheduler {
+
+    private final ScheduledPublicationService scheduledPublicationService;
+
+    @Scheduled(fixedDelayString = "${app.scheduling.scheduled-publication.refresh-delay-millis}")
+    public void refreshQueue() {
+        scheduledPublicationService.refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${app.scheduling.scheduled-publication.dispatch-delay-millis}")
+    public void publishDuePosts() {
+        scheduledPublicationService.publishDue();
+    }
+}
@@ -0,0 +1,165 @@
+package faang.school.postservice.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Case-insensitive multi-term substring matcher. The terms are compiled into an Aho-Corasick
+ * automaton whose failure links are folded into a dense transition table, so a text is scanned in
+ * one pass with a single array lookup per character and no allocation unless matches are collected.
+ * <p>
+ * Characters are mapped to a compact alphabet of the characters that occur in the terms; any other
+ * character sends the scan back to the root. Instances are immutable and thread-safe.
+ */
+public final class AhoCorasickMatcher {
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+
+    private final String[] terms;
+    private final int[] charClasses;
+    private final int alphabetSize;
+    private final int[] transitions;
+    private final int[] terminalTerm;
+    private final int[] outputLink;
+
+    private AhoCorasickMatcher(String[] terms, int[] charClasses, int alphabetSize, int[] transitions,
+                               int[] terminalTerm, int[] outputLink) {
+        this.terms = terms;
+        this.charClasses = charClasses;
+        this.alphabetSize = alphabetSize;
+        this.transitions = transitions;
+        this.terminalTerm = terminalTerm;
+        this.outputLink = outputLink;
+    }
+
+    /**
+     * Builds the automaton from lower-cased, non-blank {@code terms}; duplicates are dropped.
+     */
+    public static AhoCorasickMatcher compile(Collection<String> terms) {
+        String[] normalized = terms.stream()
+                .filter(term -> term != null && !term.isBlank())
+                .map(AhoCorasickMatcher::normalize)
+                .distinct()
+                .toArray(String[]::new);
+
+        int[] charClasses = new int[Character.MAX_VALUE + 1];
+        Arrays.fill(charClasses, NONE);
+        int alphabetSize = 0;
+        int maxStates = 1;
+        for (String term : normalized) {
+            maxStates += term.length();
+            for (int i = 0; i < term.length(); i++) {
+                char c = term.charAt(i);
+                if (charClasses[c] == NONE) {
+                    charClasses[c] = alphabetSize++;
+                }
+            }
+        }
+
+        int[] transitions = new int[maxStates * Math.max(alphabetSize, 1)];
+        Arrays.fill(transitions, NONE);
+        int[] terminalTerm = new int[maxStates];
+        Arrays.fill(terminalTerm, NONE);
+        int states = 1;
+        for (int termIndex = 0; termIndex < normalized.length; termIndex++) {
+            String term = normalized[termIndex];
+            int state = ROOT;
+            for (int i = 0; i < term.length(); i++) {
+                int slot = state * alphabetSize + charClasses[term.charAt(i)];
+                if (transitions[slot] == NONE) {
+                    transitions[slot] = states++;
+                }
+                state = transitions[slot];
+            }
+            terminalTerm[state] = termIndex;
+        }
+
+        int[] failure = new int[states];
+        int[] outputLink = new int[states];
+        Arrays.fill(outputLink, NONE);
+        int[] queue = new int[states];
+        int head = 0;
+        int tail = 0;
+        for (int symbol = 0; symbol < alphabetSize; symbol++) {
+            int next = transitions[symbol];
+            if (next == NONE) {
+                transitions[symbol] = ROOT;
+            } else {
+                failure[next] = ROOT;
+                queue[tail++] = next;
+            }
+        }
+        while (head < tail) {
+            int state = queue[head++];
+            int fallback = failure[state];
+            outputLink[state] = terminalTerm[fallback] != NONE ? fallback : outputLink[fallback];
+            for (int symbol = 0; symbol < alphabetSize; symbol++) {
+                int slot = state * alphabetSize + symbol;
+                int fallbackNext = transitions[fallback * alphabetSize + symbol];
+                if (transitions[slot] == NONE) {
+                    transitions[slot] = fallbackNext;
+                } else {
+                    failure[transitions[slot]] = fallbackNext;
+                    queue[tail++] = transitions[slot];
+                }
+            }
+        }
+
+        return new AhoCorasickMatcher(normalized, charClasses, alphabetSize,
+                Arrays.copyOf(transitions, states * alphabetSize), Arrays.copyOf(terminalTerm, states), outputLink);
+    }
+
+    public boolean containsAny(CharSequence text) {
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            state = step(state, text.charAt(i));
+            if (terminalTerm[state] != NONE || outputLink[state] != NONE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Every occurrence of every term, including overlapping ones, ordered by end position.
+     */
+    public List<Match> findAll(CharSequence text) {
+        List<Match> matches = new ArrayList<>();
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            state = step(state, text.charAt(i));
+            int output = terminalTerm[state] != NONE ? state : outputLink[state];
+            while (output != NONE) {
+                String term = terms[terminalTerm[output]];
+                matches.add(new Match(term, i + 1 - term.length(), i + 1));
+                output = outputLink[output];
+            }
+        }
+        return matches;
+    }
+
+    public int size() {
+        return terms.length;
+    }
+
+    private int step(int state, char c) {
+        int symbol = charClasses[Character.toLowerCase(c)];
+        return symbol == NONE ? ROOT : transitions[state * alphabetSize + symbol];
+    }
+
+    private static String normalize(String term) {
+        char[] chars = term.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * An occurrence of {@code term} at {@code [start, end)} of the scanned text.
+     */
+    public record Match(String term, int start, int end) {
+    }
+}
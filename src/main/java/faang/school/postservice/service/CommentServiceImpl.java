@@ -1,6 +1,5 @@
 package faang.school.postservice.service;
 
-import faang.school.postservice.client.UserServiceClient;
 import faang.school.postservice.dto.comment.CommentCreateDto;
 import faang.school.postservice.dto.comment.CommentResponseDto;
 import faang.school.postservice.dto.comment.CommentUpdateDto;
@@ -14,6 +13,7 @@ import faang.school.postservice.mapper.CommentResponseMapper;
 import faang.school.postservice.model.Comment;
 import faang.school.postservice.model.Post;
 import faang.school.postservice.repository.CommentRepository;
+import faang.school.postservice.repository.PostRepository;
 import faang.school.postservice.service.publisher.KafkaCommentProducer;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -35,15 +35,17 @@ public class CommentServiceImpl implements CommentService {
     private final CommentCreateMapper commentCreateMapper;
     private final CommentResponseMapper commentResponseMapper;
     private final PostService postService;
-    private final UserServiceClient userServiceClient;
+    private final UserCache userCache;
     private final KafkaCommentProducer kafkaCommentProducer;
+    private final PostRepository postRepository;
+    private final PostDtoCache postDtoCache;
 
     @Override
     public long createComment(CommentCreateDto commentCreateDto) {
         log.debug("Adding {}", commentCreateDto);
 
         //todo Будет работать только после появления endPoint в userService
-        UserDto userDto = userServiceClient.getUser(commentCreateDto.getAuthorId());
+        UserDto userDto = userCache.getUser(commentCreateDto.getAuthorId()).orElse(null);
         log.debug("Fetched UserDto for authorId {}: {}", commentCreateDto.getAuthorId(), userDto);
         validateUserDto(userDto);
 
@@ -63,6 +65,8 @@ public class CommentServiceImpl implements CommentService {
 
         log.debug("Saving {} to the database", comment);
         Comment returnedComment = commentRepository.save(comment);
+        postRepository.incrementCommentCount(post.getId(), 1);
+        postDtoCache.evict(post.getId());
         log.debug("{} successfully saved to the database", comment);
 
         CommentCreatedEvent event = CommentCreatedEvent.builder()
@@ -135,14 +139,16 @@ public class CommentServiceImpl implements CommentService {
         // когда познакомимся с web компонентами, а в частности с сессией пользователя.
 
         log.debug("Checking the existence of comment on ID: {}", commentId);
-        if (!commentRepository.existsById(commentId)) {
+        Comment comment = commentRepository.findById(commentId).orElseThrow(() -> {
             log.error("Comment with ID {} does not exist", commentId);
-            throw new EntityNotFoundException("Comment not found");
-        }
+            return new EntityNotFoundException("Comment not found");
+        });
         log.debug("Comment with ID {} exists and will be deleted", commentId);
 
         log.debug("Deleting comment with ID: {}", commentId);
-        commentRepository.deleteById(commentId);
+        commentRepository.delete(comment);
+        postRepository.incrementCommentCount(comment.getPost().getId(), -1);
+        postDtoCache.evict(comment.getPost().getId());
         log.debug("Comment with ID {} successfully deleted", commentId);
     }
 
@@ -0,0 +1,119 @@
+package faang.school.postservice.service;
+
+import faang.school.postservice.dto.feed.FeedEntry;
+import faang.school.postservice.repository.FeedRepository;
+import faang.school.postservice.repository.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Rebuilds a missing {@code feed:{id}} ZSET from Postgres. Concurrent requests for the same user
+ * share one rebuild, and callers only wait {@code app.feed.rebuild.wait-millis} for it.
+ */
+@Service
+@Slf4j
+public class FeedHeater {
+    private final FeedRepository feedRepository;
+    private final PostRepository postRepository;
+    private final FolloweeService followeeService;
+    private final Executor feedRebuildExecutor;
+    private final Map<Long, CompletableFuture<List<FeedEntry>>> rebuildsInFlight = new ConcurrentHashMap<>();
+
+    @Value("${app.feed.max-size}")
+    private int maxFeedSize;
+
+    @Value("${app.feed.rebuild.lookback-days}")
+    private int lookbackDays;
+
+    @Value("${app.feed.rebuild.wait-millis}")
+    private long waitMillis;
+
+    public FeedHeater(FeedRepository feedRepository,
+                      PostRepository postRepository,
+                      FolloweeService followeeService,
+                      @Qualifier("feedRebuildExecutor") Executor feedRebuildExecutor) {
+        this.feedRepository = feedRepository;
+        this.postRepository = postRepository;
+        this.followeeService = followeeService;
+        this.feedRebuildExecutor = feedRebuildExecutor;
+    }
+
+    /**
+     * Returns the rebuilt entries if the rebuild finishes in time, or an empty list if the feed was
+     * already rebuilt recently, the rebuild is still running or it failed.
+     */
+    public List<FeedEntry> warmUp(Long userId) {
+        if (feedRepository.isFeedRebuilt(userId)) {
+            return List.of();
+        }
+
+        try {
+            return rebuild(userId).get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.debug("Feed rebuild of user {} is still running, answering without it", userId);
+        } catch (ExecutionException e) {
+            log.warn("Feed rebuild of user {} failed: {}", userId, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return List.of();
+    }
+
+    public CompletableFuture<List<FeedEntry>> rebuild(Long userId) {
+        CompletableFuture<List<FeedEntry>> rebuild = new CompletableFuture<>();
+        CompletableFuture<List<FeedEntry>> inFlight = rebuildsInFlight.putIfAbsent(userId, rebuild);
+        if (inFlight != null) {
+            return inFlight;
+        }
+
+        try {
+            feedRebuildExecutor.execute(() -> {
+                try {
+                    rebuild.complete(loadFeed(userId));
+                } catch (RuntimeException e) {
+                    rebuild.completeExceptionally(e);
+                } finally {
+                    rebuildsInFlight.remove(userId, rebuild);
+                }
+            });
+        } catch (RuntimeException e) {
+            rebuildsInFlight.remove(userId, rebuild);
+            rebuild.completeExceptionally(e);
+        }
+        return rebuild;
+    }
+
+    private List<FeedEntry> loadFeed(Long userId) {
+        long startedAt = System.nanoTime();
+        List<Long> followeeIds = followeeService.getFolloweeIds(userId);
+        Set<Long> pushedAuthors = new HashSet<>(followeeIds);
+        feedRepository.findTimelineAuthors(followeeIds).forEach(pushedAuthors::remove);
+
+        List<FeedEntry> entries = pushedAuthors.isEmpty() ? List.of() : postRepository
+                .findRecentPublishedByAuthors(List.copyOf(pushedAuthors),
+                        LocalDateTime.now().minusDays(lookbackDays), maxFeedSize)
+                .stream()
+                .map(post -> new FeedEntry(post.getId(), post.getPublishedAt().toEpochSecond(ZoneOffset.UTC)))
+                .toList();
+
+        feedRepository.storeRebuiltFeed(userId, entries);
+        log.info("Rebuilt feed of user {} with {} posts from {} followees in {} ms", userId, entries.size(),
+                pushedAuthors.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        return entries;
+    }
+}
@@ -1,57 +1,126 @@
 package faang.school.postservice.service;
 
 import faang.school.postservice.dto.PostDto;
-import faang.school.postservice.mapper.PostMapper;
-import faang.school.postservice.model.Post;
+import faang.school.postservice.dto.PostPageDto;
+import faang.school.postservice.dto.feed.FeedCursor;
+import faang.school.postservice.dto.feed.FeedEntry;
+import faang.school.postservice.exception.DataValidationException;
 import faang.school.postservice.repository.FeedRepository;
-import faang.school.postservice.repository.PostRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.PriorityQueue;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class FeedService {
     private final FeedRepository feedRepository;
-    private final PostRepository postRepository;
-    private final PostMapper postMapper;
+    private final PostHydrator postHydrator;
+    private final FolloweeService followeeService;
+    private final FeedHeater feedHeater;
+
+    @Value("${app.feed.page.max-limit}")
+    private int maxPageLimit;
+
+    @Value("${app.feed.max-size}")
+    private int maxFeedSize;
 
     public List<PostDto> getFeedForUser(Long userId) {
         log.debug("Fetching feed for user {}", userId);
 
-        List<Object> postIdsRaw = feedRepository.getFeed(userId);
-        List<Long> postIds = postIdsRaw.stream()
-                .filter(Objects::nonNull)
-                .map(id -> (Long) id)
-                .toList();
+        List<Long> timelineAuthors = findFollowedTimelineAuthors(userId);
+        long[] postIds;
+        if (timelineAuthors.isEmpty()) {
+            postIds = feedRepository.getFeed(userId);
+            if (postIds.length == 0) {
+                postIds = toPostIds(feedHeater.warmUp(userId));
+            }
+        } else {
+            postIds = toPostIds(readEntries(userId, timelineAuthors, null, maxFeedSize));
+        }
 
-        if (postIds.isEmpty()) {
+        if (postIds.length == 0) {
             log.debug("Feed for user {} is empty", userId);
             return List.of();
         }
 
-        List<Post> posts = new ArrayList<>();
-        postRepository.findAllById(postIds).forEach(posts::add);
-        log.debug("Fetched {} posts from DB for user {}", posts.size(), userId);
+        List<PostDto> result = postHydrator.hydrate(postIds);
+        log.debug("Returning {} posts in feed for user {}", result.size(), userId);
+        return result;
+    }
+
+    public PostPageDto getFeedPage(Long userId, String cursor, int limit) {
+        if (limit < 1 || limit > maxPageLimit) {
+            throw new DataValidationException("Feed page limit must be between 1 and " + maxPageLimit);
+        }
+        log.debug("Fetching feed page for user {} with limit {}", userId, limit);
+
+        FeedCursor feedCursor = FeedCursor.decode(cursor);
+        List<FeedEntry> entries = readEntries(userId, findFollowedTimelineAuthors(userId), feedCursor, limit);
+        if (entries.isEmpty()) {
+            return new PostPageDto(List.of(), null);
+        }
 
-        Map<Long, Post> postMap = posts.stream()
-                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        String nextCursor = entries.size() == limit
+                ? FeedCursor.after(entries.get(entries.size() - 1)).encode()
+                : null;
 
-        List<PostDto> result = postIds.stream()
-                .map(postMap::get)
-                .filter(Objects::nonNull)
-                .map(postMapper::toDto)
-                .toList();
+        return new PostPageDto(postHydrator.hydrate(toPostIds(entries)), nextCursor);
+    }
 
-        log.debug("Returning {} posts in feed for user {}", result.size(), userId);
-        return result;
+    private List<FeedEntry> readEntries(Long userId, List<Long> timelineAuthors, FeedCursor cursor, int limit) {
+        List<FeedEntry> pushed = feedRepository.getFeedPage(userId, cursor, limit);
+        if (pushed.isEmpty() && cursor == null) {
+            List<FeedEntry> rebuilt = feedHeater.warmUp(userId);
+            pushed = rebuilt.subList(0, Math.min(limit, rebuilt.size()));
+        }
+        if (timelineAuthors.isEmpty()) {
+            return pushed;
+        }
+
+        List<List<FeedEntry>> sources = new ArrayList<>(timelineAuthors.size() + 1);
+        sources.add(pushed);
+        timelineAuthors.forEach(authorId -> sources.add(feedRepository.getTimelinePage(authorId, cursor, limit)));
+        return mergeNewestFirst(sources, limit);
+    }
+
+    private List<Long> findFollowedTimelineAuthors(Long userId) {
+        try {
+            return feedRepository.findTimelineAuthors(followeeService.getFolloweeIds(userId));
+        } catch (RuntimeException e) {
+            log.warn("Failed to resolve pull-mode authors for user {}, serving pushed feed only: {}",
+                    userId, e.getMessage());
+            return List.of();
+        }
+    }
+
+    private static long[] toPostIds(List<FeedEntry> entries) {
+        return entries.stream().mapToLong(FeedEntry::postId).toArray();
+    }
+
+    private static List<FeedEntry> mergeNewestFirst(List<List<FeedEntry>> sources, int limit) {
+        PriorityQueue<int[]> heads = new PriorityQueue<>((a, b) -> FeedEntry.NEWEST_FIRST.compare(
+                sources.get(a[0]).get(a[1]), sources.get(b[0]).get(b[1])));
+        for (int i = 0; i < sources.size(); i++) {
+            if (!sources.get(i).isEmpty()) {
+                heads.add(new int[]{i, 0});
+            }
+        }
+
+        List<FeedEntry> merged = new ArrayList<>(limit);
+        while (!heads.isEmpty() && merged.size() < limit) {
+            int[] head = heads.poll();
+            List<FeedEntry> source = sources.get(head[0]);
+            merged.add(source.get(head[1]));
+            if (head[1] + 1 < source.size()) {
+                heads.add(new int[]{head[0], head[1] + 1});
+            }
+        }
+        return merged;
     }
-}
\ No newline at end of file
+}
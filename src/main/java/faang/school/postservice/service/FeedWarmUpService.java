@@ -0,0 +1,179 @@
+package faang.school.postservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import faang.school.postservice.client.FollowerIterator;
+import faang.school.postservice.client.UserServiceClient;
+import faang.school.postservice.dto.PostCreatedEvent;
+import faang.school.postservice.dto.feed.FeedPostProjection;
+import faang.school.postservice.repository.FeedRepository;
+import faang.school.postservice.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Refills every feed after Redis lost its data. Published posts are streamed in id order and
+ * pushed to the followers of their authors in pipelined batches. The last processed id is
+ * checkpointed in Redis, so an interrupted run continues where it stopped.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FeedWarmUpService {
+    private final PostRepository postRepository;
+    private final FeedRepository feedRepository;
+    private final UserServiceClient userServiceClient;
+    private final ThreadPoolTaskScheduler taskScheduler;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${app.feed.warm-up.batch-size}")
+    private int batchSize;
+
+    @Value("${app.feed.warm-up.posts-per-second}")
+    private int postsPerSecond;
+
+    @Value("${app.feed.warm-up.follower-cache-size}")
+    private long followerCacheSize;
+
+    @Value("${app.feed.rebuild.lookback-days}")
+    private int lookbackDays;
+
+    @Value("${app.feed.celebrity-follower-threshold}")
+    private int celebrityFollowerThreshold;
+
+    @Value("${app.feed.fan-out.follower-page-size}")
+    private int followerPageSize;
+
+    /**
+     * Starts the job on the task scheduler.
+     *
+     * @return false if a warm-up is already running on this instance
+     */
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            taskScheduler.execute(() -> {
+                try {
+                    warmUp();
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+        return true;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    void warmUp() {
+        long lastPostId = feedRepository.getWarmUpCheckpoint();
+        LocalDateTime since = LocalDateTime.now().minusDays(lookbackDays);
+        Cache<Long, Audience> audiences = followerCache();
+        long startedAt = System.nanoTime();
+        long processed = 0;
+        log.info("Feed warm-up started after post {}", lastPostId);
+
+        List<FeedPostProjection> batch;
+        while (!(batch = postRepository.findPublishedAfterId(lastPostId, since, batchSize)).isEmpty()) {
+            long batchStartedAt = System.nanoTime();
+            List<PostCreatedEvent> fanOut = new ArrayList<>(batch.size());
+            for (FeedPostProjection post : batch) {
+                if (post.getAuthorId() == null) {
+                    // feeds are built from the followers of the author, project posts have none
+                    continue;
+                }
+                Audience audience = audiences.get(post.getAuthorId(), this::fetchAudience);
+                if (audience.pullMode()) {
+                    feedRepository.addPostToTimeline(post.getAuthorId(), post.getId(), post.getPublishedAt());
+                } else if (audience.followerIds().length > 0) {
+                    fanOut.add(PostCreatedEvent.builder()
+                            .postId(post.getId())
+                            .authorId(post.getAuthorId())
+                            .createdAt(post.getPublishedAt())
+                            .followerIds(Arrays.stream(audience.followerIds()).boxed().toList())
+                            .build());
+                }
+            }
+            if (!fanOut.isEmpty()) {
+                feedRepository.addPostsToFeeds(fanOut);
+            }
+
+            lastPostId = batch.get(batch.size() - 1).getId();
+            feedRepository.saveWarmUpCheckpoint(lastPostId);
+            processed += batch.size();
+            log.debug("Feed warm-up processed {} posts up to id {}", processed, lastPostId);
+
+            if (!throttle(batch.size(), batchStartedAt)) {
+                log.warn("Feed warm-up interrupted after post {}, it will resume from the checkpoint", lastPostId);
+                return;
+            }
+        }
+
+        feedRepository.clearWarmUpCheckpoint();
+        log.info("Feed warm-up finished: {} posts in {} s", processed,
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startedAt));
+    }
+
+    /**
+     * Pages through the author's followers, stopping once the celebrity threshold is exceeded, in
+     * which case only the pull mode is kept.
+     */
+    private Audience fetchAudience(Long authorId) {
+        FollowerIterator pages = new FollowerIterator(userServiceClient, authorId, followerPageSize);
+        List<Long> followerIds = new ArrayList<>();
+        while (pages.hasNext()) {
+            followerIds.addAll(pages.next());
+            if (followerIds.size() > celebrityFollowerThreshold) {
+                return Audience.PULL_MODE;
+            }
+        }
+        return new Audience(followerIds.stream().mapToLong(Long::longValue).toArray(), false);
+    }
+
+    private boolean throttle(int batchPosts, long batchStartedAt) {
+        long minBatchNanos = TimeUnit.SECONDS.toNanos(batchPosts) / postsPerSecond;
+        long sleepNanos = minBatchNanos - (System.nanoTime() - batchStartedAt);
+        try {
+            if (sleepNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            }
+            return !Thread.currentThread().isInterrupted();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Audiences of the authors seen during one run, bounded by the total number of follower ids they
+     * hold. Eviction runs on the warm-up thread so the bound holds after every load.
+     */
+    private Cache<Long, Audience> followerCache() {
+        return Caffeine.newBuilder()
+                .maximumWeight(followerCacheSize)
+                .weigher((Long authorId, Audience audience) -> audience.followerIds().length + 1)
+                .executor(Runnable::run)
+                .build();
+    }
+
+    private record Audience(long[] followerIds, boolean pullMode) {
+        static final Audience PULL_MODE = new Audience(new long[0], true);
+    }
+}
@@ -0,0 +1,29 @@
+package faang.school.postservice.service;
+
+import faang.school.postservice.client.UserServiceClient;
+import faang.school.postservice.dto.FollowerResponseDto;
+import faang.school.postservice.dto.UserFilterRequestDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FolloweeService {
+
+    public static final String FOLLOWEES_CACHE = "feed-followees";
+
+    private final UserServiceClient userServiceClient;
+
+    @Cacheable(value = FOLLOWEES_CACHE, key = "#userId")
+    public List<Long> getFolloweeIds(Long userId) {
+        log.debug("Fetching followees of user {} from user-service", userId);
+        return userServiceClient.getFollowees(userId, new UserFilterRequestDto(null, null, null, null)).stream()
+                .map(FollowerResponseDto::id)
+                .toList();
+    }
+}
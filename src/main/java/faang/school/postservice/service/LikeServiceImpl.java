@@ -26,6 +26,7 @@ public class LikeServiceImpl implements LikeService {
     private final CommentRepository commentRepository;
     private final UserServiceClient userServiceClient;
     private final LikeMapper likeMapper;
+    private final PostDtoCache postDtoCache;
 
     @Transactional
     @Override
@@ -42,6 +43,8 @@ public class LikeServiceImpl implements LikeService {
                 .build();
 
         like = likeRepository.save(like);
+        postRepository.incrementLikeCount(postId, 1);
+        postDtoCache.evict(postId);
         log.info("User {} liked post {}", userId, postId);
 
         return likeMapper.toPostLikeDto(like);
@@ -80,7 +83,11 @@ public class LikeServiceImpl implements LikeService {
             throw new NotFoundException("Like not found");
         }
 
-        likeRepository.deleteByPostIdAndUserId(postId, userId);
+        long deleted = likeRepository.deleteByPostIdAndUserId(postId, userId);
+        if (deleted > 0) {
+            postRepository.incrementLikeCount(postId, -deleted);
+            postDtoCache.evict(postId);
+        }
         log.info("User {} unliked post {}", userId, postId);
     }
 
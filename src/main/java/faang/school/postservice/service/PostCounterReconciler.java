@@ -0,0 +1,42 @@
+package faang.school.postservice.service;
+
+import faang.school.postservice.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Recounts {@code like_count} and {@code comment_count} from the likes and comment tables. Rows
+ * are walked in id ranges, one short transaction per range, and only drifted rows are written.
+ * The range is locked before it is counted, so increments made meanwhile are either included in
+ * the count or applied on top of it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostCounterReconciler {
+    private final PostRepository postRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.post.counters.reconcile-batch-size}")
+    private int batchSize;
+
+    public void reconcile() {
+        long maxId = postRepository.findMaxId();
+        int fixed = 0;
+        for (long afterId = 0; afterId < maxId; afterId += batchSize) {
+            fixed += reconcileRange(afterId, Math.min(afterId + batchSize, maxId));
+        }
+        log.info("Post counters reconciled up to id {}, {} posts had drifted", maxId, fixed);
+    }
+
+    private int reconcileRange(long afterId, long toId) {
+        Integer fixed = transactionTemplate.execute(status -> {
+            postRepository.lockIdRange(afterId, toId);
+            return postRepository.reconcileCounters(afterId, toId);
+        });
+        return fixed == null ? 0 : fixed;
+    }
+}
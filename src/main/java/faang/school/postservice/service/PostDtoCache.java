@@ -0,0 +1,148 @@
+package faang.school.postservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import faang.school.postservice.dto.PostDto;
+import faang.school.postservice.repository.PostCacheRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Read-through cache for single posts: a short-lived local tier in front of the shared Redis
+ * {@code post:dto:} entries, which also remember missing ids for a few seconds. Only published,
+ * non-deleted posts go to Redis because feed hydration trusts those entries. Writers evict both
+ * tiers after commit; other instances pick the change up when their local entry expires.
+ */
+@Service
+@Slf4j
+public class PostDtoCache {
+    private final PostCacheRepository postCacheRepository;
+    private final Cache<Long, Optional<PostDto>> localCache;
+
+    public PostDtoCache(PostCacheRepository postCacheRepository,
+                        @Value("${app.post-cache.local.max-size}") long localMaxSize,
+                        @Value("${app.post-cache.local.ttl-millis}") long localTtlMillis) {
+        this.postCacheRepository = postCacheRepository;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(Duration.ofMillis(localTtlMillis))
+                .build();
+    }
+
+    public Optional<PostDto> get(Long postId, Function<Long, Optional<PostDto>> loader) {
+        return localCache.get(postId, id -> loadThroughRedis(id, loader));
+    }
+
+    /**
+     * Multi-key variant of {@link #get}: local hits first, then one MGET for the rest and a single
+     * {@code loader} call for what Redis does not know. Ids the loader does not return are missing.
+     */
+    public Map<Long, Optional<PostDto>> getAll(List<Long> postIds,
+                                               Function<List<Long>, Map<Long, PostDto>> loader) {
+        return localCache.getAll(postIds, misses -> loadAllThroughRedis(List.copyOf(misses), loader));
+    }
+
+    public void evict(Long postId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(postId);
+                }
+            });
+        } else {
+            evictNow(postId);
+        }
+    }
+
+    private void evictNow(Long postId) {
+        localCache.invalidate(postId);
+        try {
+            postCacheRepository.evictPostDto(postId);
+        } catch (DataAccessException e) {
+            log.warn("Failed to evict cached post {}: {}", postId, e.getMessage());
+        }
+    }
+
+    private Map<Long, Optional<PostDto>> loadAllThroughRedis(List<Long> postIds,
+                                                             Function<List<Long>, Map<Long, PostDto>> loader) {
+        Map<Long, Optional<PostDto>> result = new HashMap<>();
+        List<Long> toLoad = postIds;
+        try {
+            postCacheRepository.getCachedPostDtos(postIds)
+                    .forEach((postId, postDto) -> result.put(postId, Optional.of(postDto)));
+            List<Long> uncached = postIds.stream()
+                    .filter(postId -> !result.containsKey(postId))
+                    .toList();
+            Set<Long> missing = uncached.isEmpty() ? Set.of() : postCacheRepository.findMissingPosts(uncached);
+            missing.forEach(postId -> result.put(postId, Optional.empty()));
+            toLoad = uncached.stream()
+                    .filter(postId -> !missing.contains(postId))
+                    .toList();
+        } catch (DataAccessException e) {
+            log.warn("Post cache unavailable, loading {} posts from the database: {}", postIds.size(), e.getMessage());
+        }
+        if (toLoad.isEmpty()) {
+            return result;
+        }
+
+        Map<Long, PostDto> loaded = loader.apply(toLoad);
+        List<Long> notFound = new ArrayList<>();
+        for (Long postId : toLoad) {
+            PostDto postDto = loaded.get(postId);
+            result.put(postId, Optional.ofNullable(postDto));
+            if (postDto == null) {
+                notFound.add(postId);
+            }
+        }
+        try {
+            postCacheRepository.cachePostDtos(loaded.values().stream()
+                    .filter(postDto -> postDto.isPublished() && !postDto.isDeleted())
+                    .toList());
+            postCacheRepository.cacheMissingPosts(notFound);
+        } catch (DataAccessException e) {
+            log.warn("Failed to cache {} posts: {}", loaded.size(), e.getMessage());
+        }
+        return result;
+    }
+
+    private Optional<PostDto> loadThroughRedis(Long postId, Function<Long, Optional<PostDto>> loader) {
+        try {
+            PostDto cached = postCacheRepository.getCachedPostDto(postId);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+            if (postCacheRepository.isPostMissing(postId)) {
+                return Optional.empty();
+            }
+        } catch (DataAccessException e) {
+            log.warn("Post cache unavailable, loading post {} from the database: {}", postId, e.getMessage());
+            return loader.apply(postId);
+        }
+
+        Optional<PostDto> loaded = loader.apply(postId);
+        try {
+            if (loaded.isEmpty()) {
+                postCacheRepository.cacheMissingPost(postId);
+            } else if (loaded.get().isPublished() && !loaded.get().isDeleted()) {
+                postCacheRepository.cachePostDto(loaded.get());
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to cache post {}: {}", postId, e.getMessage());
+        }
+        return loaded;
+    }
+}
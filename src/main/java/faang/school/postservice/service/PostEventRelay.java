@@ -0,0 +1,260 @@
+package faang.school.postservice.service;
+
+import faang.school.postservice.client.FollowerIterator;
+import faang.school.postservice.client.UserServiceClient;
+import faang.school.postservice.dto.PostCreatedEvent;
+import faang.school.postservice.dto.PostDeletedEvent;
+import faang.school.postservice.model.PostEventOutbox;
+import faang.school.postservice.model.PostEventType;
+import faang.school.postservice.producer.KafkaPostProducer;
+import faang.school.postservice.producer.PostEventSend;
+import faang.school.postservice.repository.LeaseRepository;
+import faang.school.postservice.repository.PostEventOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains {@code post_event_outbox} to Kafka. One instance at a time holds the relay lease; it reads
+ * due events in id order, pages through the followers of each author once per batch and sends the
+ * author's events one after another, one follower page at a time, waiting for the broker's ack.
+ * Paging stops as soon as the author turns out to be above the celebrity threshold, so at most
+ * that many follower ids are held per author. Authors are relayed in parallel.
+ * Sent events are deleted, so delivery is at-least-once; a failed event is retried with backoff
+ * and holds back the later events of its author.
+ * <p>
+ * Before every send the lease is extended if it could expire while waiting for the ack; once it
+ * cannot be extended, no further event is sent and the unsent ones stay in the outbox.
+ */
+@Service
+@Slf4j
+public class PostEventRelay {
+    private static final String LEASE_NAME = "post-event-relay";
+
+    private final PostEventOutboxRepository outboxRepository;
+    private final LeaseRepository leaseRepository;
+    private final UserServiceClient userServiceClient;
+    private final KafkaPostProducer kafkaPostProducer;
+    private final Executor postEventExecutor;
+    private final String owner = UUID.randomUUID().toString();
+
+    @Value("${app.post-events.relay.batch-size}")
+    private int batchSize;
+
+    @Value("${app.post-events.relay.lease-ttl-seconds}")
+    private long leaseTtlSeconds;
+
+    @Value("${app.post-events.relay.send-timeout-seconds}")
+    private long sendTimeoutSeconds;
+
+    @Value("${app.post-events.relay.retry-delay-seconds}")
+    private long retryDelaySeconds;
+
+    @Value("${app.post-events.relay.max-retry-delay-seconds}")
+    private long maxRetryDelaySeconds;
+
+    @Value("${app.feed.celebrity-follower-threshold}")
+    private int celebrityFollowerThreshold;
+
+    @Value("${app.feed.fan-out.follower-page-size}")
+    private int followerPageSize;
+
+    public PostEventRelay(PostEventOutboxRepository outboxRepository,
+                          LeaseRepository leaseRepository,
+                          UserServiceClient userServiceClient,
+                          KafkaPostProducer kafkaPostProducer,
+                          @Qualifier("postEventExecutor") Executor postEventExecutor) {
+        this.outboxRepository = outboxRepository;
+        this.leaseRepository = leaseRepository;
+        this.userServiceClient = userServiceClient;
+        this.kafkaPostProducer = kafkaPostProducer;
+        this.postEventExecutor = postEventExecutor;
+    }
+
+    public void relay() {
+        Lease lease = new Lease(Duration.ofSeconds(leaseTtlSeconds));
+        if (!leaseRepository.tryAcquire(LEASE_NAME, owner, lease.ttl)) {
+            return;
+        }
+        try {
+            List<PostEventOutbox> batch;
+            while (lease.holdForSend()
+                    && !(batch = outboxRepository.findReady(LocalDateTime.now(), batchSize)).isEmpty()) {
+                relayBatch(batch, lease);
+            }
+            if (lease.isLost()) {
+                log.warn("Post event relay lost its lease, stopping");
+            }
+        } finally {
+            leaseRepository.release(LEASE_NAME, owner);
+        }
+    }
+
+    private void relayBatch(List<PostEventOutbox> batch, Lease lease) {
+        Map<Long, List<PostEventOutbox>> eventsByAuthor = new LinkedHashMap<>();
+        batch.forEach(event -> eventsByAuthor.computeIfAbsent(event.getAuthorId(), id -> new ArrayList<>()).add(event));
+
+        List<CompletableFuture<AuthorResult>> results = eventsByAuthor.entrySet().stream()
+                .map(entry -> CompletableFuture.supplyAsync(
+                        () -> relayAuthor(entry.getKey(), entry.getValue(), lease), postEventExecutor))
+                .toList();
+
+        List<Long> sentIds = new ArrayList<>();
+        List<PostEventOutbox> failed = new ArrayList<>();
+        results.stream()
+                .map(CompletableFuture::join)
+                .forEach(result -> {
+                    result.sent().forEach(event -> sentIds.add(event.getId()));
+                    if (result.failed() != null) {
+                        failed.add(result.failed());
+                    }
+                });
+
+        if (!sentIds.isEmpty()) {
+            outboxRepository.deleteByIds(sentIds);
+        }
+        if (!failed.isEmpty()) {
+            failed.forEach(this::scheduleRetry);
+            outboxRepository.saveAll(failed);
+        }
+        log.debug("Relayed {} post events from {} authors, {} failed", sentIds.size(), eventsByAuthor.size(),
+                failed.size());
+    }
+
+    private AuthorResult relayAuthor(Long authorId, List<PostEventOutbox> events, Lease lease) {
+        List<PostEventOutbox> sent = new ArrayList<>(events.size());
+        try {
+            FeedAudience audience = fetchAudience(authorId);
+            for (PostEventOutbox event : events) {
+                if (!lease.holdForSend()) {
+                    return new AuthorResult(sent, null);
+                }
+                send(event, audience).get(sendTimeoutSeconds, TimeUnit.SECONDS);
+                sent.add(event);
+            }
+            return new AuthorResult(sent, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new AuthorResult(sent, events.get(sent.size()));
+        } catch (Exception e) {
+            PostEventOutbox failed = events.get(sent.size());
+            log.warn("Failed to relay {} event of post {}: {}", failed.getEventType(), failed.getPostId(),
+                    e.getMessage());
+            return new AuthorResult(sent, failed);
+        }
+    }
+
+    private FeedAudience fetchAudience(Long authorId) {
+        FollowerIterator pages = new FollowerIterator(userServiceClient, authorId, followerPageSize);
+        List<List<Long>> followerPages = new ArrayList<>();
+        int followers = 0;
+        while (pages.hasNext()) {
+            List<Long> page = pages.next();
+            followers += page.size();
+            if (followers > celebrityFollowerThreshold) {
+                return new FeedAudience(List.of(), true);
+            }
+            followerPages.add(page);
+        }
+        return new FeedAudience(followerPages, false);
+    }
+
+    private CompletableFuture<Void> send(PostEventOutbox event, FeedAudience audience) {
+        if (audience.followerPages().isEmpty()) {
+            return sendPage(event, List.of(), audience.pullMode(), 0).acked();
+        }
+        List<CompletableFuture<Void>> sends = new ArrayList<>(audience.followerPages().size());
+        int chunkIndex = 0;
+        for (List<Long> page : audience.followerPages()) {
+            PostEventSend pageSend = sendPage(event, page, false, chunkIndex);
+            sends.add(pageSend.acked());
+            chunkIndex += pageSend.chunkCount();
+        }
+        return CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new));
+    }
+
+    private PostEventSend sendPage(PostEventOutbox event, List<Long> followerIds, boolean pullMode, int chunkIndex) {
+        if (event.getEventType() == PostEventType.DELETED) {
+            PostDeletedEvent deleted = PostDeletedEvent.builder()
+                    .postId(event.getPostId())
+                    .authorId(event.getAuthorId())
+                    .followerIds(followerIds)
+                    .pullMode(pullMode)
+                    .chunkIndex(chunkIndex)
+                    .build();
+            return kafkaPostProducer.sendPostDeletedEvent(deleted);
+        }
+        PostCreatedEvent created = PostCreatedEvent.builder()
+                .postId(event.getPostId())
+                .authorId(event.getAuthorId())
+                .createdAt(event.getPublishedAt())
+                .followerIds(followerIds)
+                .pullMode(pullMode)
+                .chunkIndex(chunkIndex)
+                .build();
+        return kafkaPostProducer.sendPostCreatedEvent(created);
+    }
+
+    private void scheduleRetry(PostEventOutbox event) {
+        int attempts = event.getAttempts() + 1;
+        long delaySeconds = Math.min(retryDelaySeconds << Math.min(attempts - 1, 20), maxRetryDelaySeconds);
+        event.setAttempts(attempts);
+        event.setNextAttemptAt(LocalDateTime.now().plusSeconds(delaySeconds));
+    }
+
+    /**
+     * The relay lease as seen by this instance, shared by the author tasks of a run. The expiry is
+     * estimated from the time each acquire or extend was issued, so it never runs late.
+     */
+    private final class Lease {
+        private final Duration ttl;
+        private long expiresAt;
+        private boolean lost;
+
+        private Lease(Duration ttl) {
+            this.ttl = ttl;
+            this.expiresAt = System.nanoTime() + ttl.toNanos();
+        }
+
+        /**
+         * Makes sure the lease outlives a send started now, extending it when it would not.
+         */
+        private synchronized boolean holdForSend() {
+            if (lost) {
+                return false;
+            }
+            long now = System.nanoTime();
+            if (now + TimeUnit.SECONDS.toNanos(sendTimeoutSeconds) < expiresAt) {
+                return true;
+            }
+            if (leaseRepository.extend(LEASE_NAME, owner, ttl)) {
+                expiresAt = now + ttl.toNanos();
+                return true;
+            }
+            lost = true;
+            return false;
+        }
+
+        private synchronized boolean isLost() {
+            return lost;
+        }
+    }
+
+    private record AuthorResult(List<PostEventOutbox> sent, PostEventOutbox failed) {
+    }
+
+    private record FeedAudience(List<List<Long>> followerPages, boolean pullMode) {
+    }
+}
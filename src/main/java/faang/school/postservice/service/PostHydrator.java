@@ -0,0 +1,67 @@
+package faang.school.postservice.service;
+
+import faang.school.postservice.dto.PostDto;
+import faang.school.postservice.mapper.PostMapper;
+import faang.school.postservice.repository.PostCacheRepository;
+import faang.school.postservice.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns post ids into {@link PostDto}s: one MGET over the Redis post cache, a single
+ * batched query for the misses, and a back-fill of the cache with what was loaded. Posts that
+ * were deleted or unpublished after being fanned out are dropped.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostHydrator {
+
+    private final PostCacheRepository postCacheRepository;
+    private final PostRepository postRepository;
+    private final PostMapper postMapper;
+
+    /**
+     * Hydrates feed ids as read from Redis; only the cache misses are boxed, for the database query.
+     */
+    public List<PostDto> hydrate(long[] postIds) {
+        if (postIds.length == 0) {
+            return List.of();
+        }
+
+        List<PostDto> cached = postCacheRepository.getCachedPostDtos(postIds);
+        List<Long> misses = new ArrayList<>();
+        for (int i = 0; i < postIds.length; i++) {
+            if (cached.get(i) == null) {
+                misses.add(postIds[i]);
+            }
+        }
+
+        Map<Long, PostDto> loaded = new HashMap<>();
+        if (!misses.isEmpty()) {
+            List<PostDto> loadedDtos = postRepository.findAllByIdIn(misses.stream().distinct().toList()).stream()
+                    .filter(post -> post.isPublished() && !post.isDeleted())
+                    .map(postMapper::toDto)
+                    .toList();
+            postCacheRepository.cachePostDtos(loadedDtos);
+            loadedDtos.forEach(postDto -> loaded.put(postDto.getId(), postDto));
+        }
+        log.debug("Hydrated {} posts: {} from cache, {} loaded from DB",
+                postIds.length, postIds.length - misses.size(), misses.size());
+
+        List<PostDto> posts = new ArrayList<>(postIds.length);
+        for (int i = 0; i < postIds.length; i++) {
+            PostDto postDto = cached.get(i) != null ? cached.get(i) : loaded.get(postIds[i]);
+            if (postDto != null) {
+                posts.add(postDto);
+            }
+        }
+        return posts;
+    }
+}
@@ -1,9 +1,13 @@
 package faang.school.postservice.service;
 
+import faang.school.postservice.repository.ModerationDictionaryRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
 import jakarta.validation.constraints.NotBlank;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Component;
 
 import java.io.BufferedReader;
@@ -11,34 +15,90 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Set;
 
+/**
+ * Forbidden words of posts. The bundled file is loaded at startup as version 0; newer versions are
+ * picked up from Redis by {@link #reload()}, compiled on the calling thread and published with a
+ * single reference swap, so moderation never waits for a reload or sees a partly built matcher.
+ */
 @Component
 @Slf4j
 public class PostModerationDictionaryImpl implements ModerationDictionary {
+    private static final String DICTIONARY_NAME = "post";
+    private static final long BUNDLED_VERSION = 0;
 
-    private static final List<String> FORBIDDEN_WORDS = new CopyOnWriteArrayList<>();
+    private final ModerationDictionaryRepository dictionaryRepository;
+    private volatile ActiveDictionary active = new ActiveDictionary(BUNDLED_VERSION, AhoCorasickMatcher.compile(List.of()));
 
     @Value("${app.dictionary.post-dictionary-path}")
     private String path;
 
+    public PostModerationDictionaryImpl(ModerationDictionaryRepository dictionaryRepository, MeterRegistry meterRegistry) {
+        this.dictionaryRepository = dictionaryRepository;
+        Gauge.builder("moderation.dictionary.version", this, dictionary -> dictionary.active.version())
+                .tag("dictionary", DICTIONARY_NAME)
+                .description("Version of the active moderation dictionary, 0 for the bundled one")
+                .register(meterRegistry);
+        Gauge.builder("moderation.dictionary.words", this, dictionary -> dictionary.active.matcher().size())
+                .tag("dictionary", DICTIONARY_NAME)
+                .register(meterRegistry);
+    }
+
     @PostConstruct
     public void init() {
         try(InputStream inputStream = getClass().getResourceAsStream(path)) {
             if (inputStream == null) {
                 throw new FileNotFoundException("File at " + path + " doesn't exist");
             }
-            BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(inputStream));
-            FORBIDDEN_WORDS.addAll(bufferedReader.lines().map(String::toLowerCase).toList());
+            BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+            active = new ActiveDictionary(BUNDLED_VERSION, AhoCorasickMatcher.compile(bufferedReader.lines().toList()));
+            log.info("Compiled moderation dictionary of {} words", active.matcher().size());
         } catch (IOException e) {
             log.error("InputStream error ", e);
         }
+        reload();
+    }
+
+    /**
+     * Switches to the version active in Redis if it differs from the current one. Without a version
+     * in Redis, or when Redis is unavailable, the current dictionary stays in place.
+     */
+    public void reload() {
+        try {
+            Long version = dictionaryRepository.getActiveVersion(DICTIONARY_NAME);
+            if (version == null || version == active.version()) {
+                return;
+            }
+            Set<String> words = dictionaryRepository.getWords(DICTIONARY_NAME, version);
+            if (words == null || words.isEmpty()) {
+                log.warn("Moderation dictionary version {} has no words, keeping version {}", version, active.version());
+                return;
+            }
+            active = new ActiveDictionary(version, AhoCorasickMatcher.compile(words));
+            log.info("Switched to moderation dictionary version {} of {} words", version, active.matcher().size());
+        } catch (DataAccessException e) {
+            log.warn("Failed to reload moderation dictionary, keeping version {}: {}", active.version(), e.getMessage());
+        }
+    }
+
+    public long getVersion() {
+        return active.version();
     }
 
     public boolean isTextWithoutForbiddenWords(@NotBlank String text) {
-        String lowerText = text.toLowerCase();
-        return FORBIDDEN_WORDS.stream()
-                .noneMatch(lowerText::contains);
+        return !active.matcher().containsAny(text);
+    }
+
+    /**
+     * Forbidden words found in {@code text} with their positions, for reporting why a post was rejected.
+     */
+    public List<AhoCorasickMatcher.Match> findForbiddenWords(@NotBlank String text) {
+        return active.matcher().findAll(text);
+    }
+
+    private record ActiveDictionary(long version, AhoCorasickMatcher matcher) {
     }
 }
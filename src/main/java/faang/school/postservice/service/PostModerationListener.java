@@ -0,0 +1,45 @@
+package faang.school.postservice.service;
+
+import faang.school.postservice.event.PostModerationRequestedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Moderates posts as soon as they are published or edited, on the bounded moderation pool and only
+ * after the change is committed. Posts that cannot be queued or fail here keep no verdict and are
+ * picked up by the nightly catch-up sweep.
+ */
+@Component
+@Slf4j
+public class PostModerationListener {
+    private final PostService postService;
+    private final Executor moderationExecutor;
+
+    public PostModerationListener(PostService postService,
+                                  @Qualifier("moderationExecutor") Executor moderationExecutor) {
+        this.postService = postService;
+        this.moderationExecutor = moderationExecutor;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onModerationRequested(PostModerationRequestedEvent event) {
+        try {
+            moderationExecutor.execute(() -> moderate(event.postId()));
+        } catch (RejectedExecutionException e) {
+            log.warn("Moderation queue is full, post {} is left to the catch-up sweep", event.postId());
+        }
+    }
+
+    private void moderate(Long postId) {
+        try {
+            postService.moderatePost(postId);
+        } catch (RuntimeException e) {
+            log.error("Failed to moderate post {}, it is left to the catch-up sweep", postId, e);
+        }
+    }
+}
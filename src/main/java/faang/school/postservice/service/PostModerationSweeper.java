@@ -0,0 +1,84 @@
+package faang.school.postservice.service;
+
+import faang.school.postservice.dto.ModerationCandidate;
+import faang.school.postservice.dto.ModerationVerdict;
+import faang.school.postservice.repository.PostModerationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catch-up sweep for posts without a verdict. Posts are read in id order by keyset pages, every
+ * page is split into slices checked in parallel on the sweep pool, and the verdicts of a page are
+ * written with one UPDATE.
+ */
+@Service
+@Slf4j
+public class PostModerationSweeper {
+    private final PostModerationRepository moderationRepository;
+    private final PostModerationDictionaryImpl moderationDictionary;
+    private final Executor sweepExecutor;
+
+    @Value("${app.moderation.sweep.page-size}")
+    private int pageSize;
+
+    @Value("${app.moderation.sweep.parallelism}")
+    private int parallelism;
+
+    public PostModerationSweeper(PostModerationRepository moderationRepository,
+                                 PostModerationDictionaryImpl moderationDictionary,
+                                 @Qualifier("moderationSweepExecutor") Executor sweepExecutor) {
+        this.moderationRepository = moderationRepository;
+        this.moderationDictionary = moderationDictionary;
+        this.sweepExecutor = sweepExecutor;
+    }
+
+    public void sweep() {
+        long startedAt = System.nanoTime();
+        long afterId = 0;
+        long checked = 0;
+        long rejected = 0;
+        long stored = 0;
+
+        List<ModerationCandidate> page;
+        while (!(page = moderationRepository.findUnmoderatedAfter(afterId, pageSize)).isEmpty()) {
+            List<ModerationVerdict> verdicts = evaluate(page);
+            stored += moderationRepository.saveVerdicts(verdicts, LocalDateTime.now());
+            checked += verdicts.size();
+            rejected += verdicts.stream().filter(verdict -> !verdict.verified()).count();
+            afterId = page.get(page.size() - 1).postId();
+            log.debug("Moderation sweep checked {} posts up to id {}", checked, afterId);
+        }
+
+        long elapsedMillis = Math.max(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt), 1);
+        log.info("Moderation sweep checked {} posts ({} rejected, {} stored) in {} ms, {} posts/s",
+                checked, rejected, stored, elapsedMillis, checked * 1000 / elapsedMillis);
+    }
+
+    private List<ModerationVerdict> evaluate(List<ModerationCandidate> page) {
+        int sliceSize = (page.size() + parallelism - 1) / parallelism;
+        List<CompletableFuture<List<ModerationVerdict>>> slices = new ArrayList<>(parallelism);
+        for (int from = 0; from < page.size(); from += sliceSize) {
+            List<ModerationCandidate> slice = page.subList(from, Math.min(from + sliceSize, page.size()));
+            slices.add(CompletableFuture.supplyAsync(() -> slice.stream().map(this::evaluate).toList(), sweepExecutor));
+        }
+
+        List<ModerationVerdict> verdicts = new ArrayList<>(page.size());
+        slices.forEach(slice -> verdicts.addAll(slice.join()));
+        return verdicts;
+    }
+
+    private ModerationVerdict evaluate(ModerationCandidate candidate) {
+        boolean clean = candidate.content() == null
+                || moderationDictionary.isTextWithoutForbiddenWords(candidate.content());
+        return new ModerationVerdict(candidate.postId(), clean, candidate.updatedAt());
+    }
+}
@@ -1,6 +1,8 @@
 package faang.school.postservice.service;
 
 import faang.school.postservice.dto.PostDto;
+import faang.school.postservice.dto.PostLookupDto;
+import faang.school.postservice.dto.PostPageDto;
 import faang.school.postservice.dto.ResourceDto;
 import org.springframework.web.multipart.MultipartFile;
 import faang.school.postservice.model.Post;
@@ -14,20 +16,34 @@ public interface PostService {
 
     PostDto publishPost(Long postId);
 
+    int publishScheduledPosts(List<Long> postIds);
+
     PostDto updatePost(Long postId, PostDto postDto);
 
     PostDto softDelete(Long postId);
 
+    PostDto unpublishPost(Long postId);
+
     PostDto getPostById(Long postId);
 
+    List<PostLookupDto> getPostsByIds(List<Long> postIds);
+
     List<PostDto> getAllDraftsByAuthorId(Long authorId);
 
     List<PostDto> getAllDraftsByProjectId(Long projectId);
 
+    PostPageDto getDraftsByAuthorId(Long authorId, String cursor, int limit);
+
+    PostPageDto getDraftsByProjectId(Long projectId, String cursor, int limit);
+
     List<PostDto> getAllPublishedPostsByAuthorId(Long authorId);
 
     List<PostDto> getAllPublishedPostsByProjectId(Long projectId);
 
+    PostPageDto getPublishedPostsByAuthorId(Long authorId, String cursor, int limit);
+
+    PostPageDto getPublishedPostsByProjectId(Long projectId, String cursor, int limit);
+
     List<ResourceDto> uploadImageToPost(Long postId, List<MultipartFile> files);
   
     Post getPostEntryById(@Min(1) long id);
@@ -36,7 +52,7 @@ public interface PostService {
 
     void removeTagsFromPost(Long postId, List<Long> tagsId);
 
-    void moderatePosts();
+    void moderatePost(Long postId);
 
     void banUsersWithTooManyOffendedPosts();
 }
@@ -1,20 +1,22 @@
 package faang.school.postservice.service;
 
 import faang.school.postservice.client.ProjectServiceClient;
-import faang.school.postservice.client.UserServiceClient;
-import faang.school.postservice.dto.FollowerResponseDto;
-import faang.school.postservice.dto.PostCreatedEvent;
+import faang.school.postservice.dto.PostCursor;
 import faang.school.postservice.dto.PostDto;
-import faang.school.postservice.dto.UserFilterRequestDto;
-import faang.school.postservice.dto.user.UserDto;
+import faang.school.postservice.dto.PostLookupDto;
+import faang.school.postservice.dto.PostPageDto;
+import faang.school.postservice.event.PostModerationRequestedEvent;
 import faang.school.postservice.exception.EntityNotFoundException;
 import faang.school.postservice.exception.FileUploadException;
 import faang.school.postservice.exception.NotFoundException;
 import faang.school.postservice.exception.PostNotFoundException;
 import faang.school.postservice.mapper.PostMapper;
 import faang.school.postservice.model.Post;
-import faang.school.postservice.producer.KafkaPostProducer;
+import faang.school.postservice.model.PostEventOutbox;
+import faang.school.postservice.model.PostEventType;
 import faang.school.postservice.repository.AuthorCacheRepository;
+import faang.school.postservice.repository.AuthorOffenseCounterRepository;
+import faang.school.postservice.repository.PostEventOutboxRepository;
 import faang.school.postservice.repository.PostRepository;
 import io.minio.BucketExistsArgs;
 import io.minio.MakeBucketArgs;
@@ -23,8 +25,13 @@ import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -45,11 +52,9 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.time.LocalDateTime;
-import java.util.Comparator;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 import java.util.Map;
-import java.util.concurrent.Executor;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.Optional;
 import javax.imageio.ImageIO;
@@ -73,21 +78,19 @@ public class PostServiceImpl implements PostService {
     private final ResourceRepository resourceRepository;
     private final PostMapper postMapper;
     private final ResourceMapper resourceMapper;
-    private final UserServiceClient userServiceClient;
+    private final UserCache userCache;
     private final ProjectServiceClient projectServiceClient;
-    private final ThreadPoolTaskScheduler taskScheduler;
     private final PostModerationDictionaryImpl moderationDictionary;
     private final RedisTemplate<String, Object> redisTemplate;
     private final ChannelTopic channelTopic;
-    private final KafkaPostProducer kafkaPostProducer;
     private final ImageProcessingProperties properties;
     private final ImageResizer imageResizer;
     private final MinioClient minioClient;
-    private final Executor postEventExecutor;
     private final AuthorCacheRepository authorCacheRepository;
-
-    @Value("${app.scheduling.post.max-posts-per-time}")
-    private int limitToModerate;
+    private final PostEventOutboxRepository postEventOutboxRepository;
+    private final PostDtoCache postDtoCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuthorOffenseCounterRepository authorOffenseCounterRepository;
 
     @Value("${post-service.post.count-of-unverified-posts-to-ban}")
     private int countOfUnverifiedPostsToBan;
@@ -95,6 +98,12 @@ public class PostServiceImpl implements PostService {
     @Value("${s3.bucket-name}")
     private String bucketName;
 
+    @Value("${app.post.page.max-limit}")
+    private int maxPageLimit;
+
+    @Value("${app.post.batch.max-size}")
+    private int maxBatchSize;
+
     @PostConstruct
     public void init() {
         try {
@@ -121,11 +130,11 @@ public class PostServiceImpl implements PostService {
         Post post = postMapper.toEntity(postDto);
         post.setPublished(false);
         post = postRepository.save(post);
+        postDtoCache.evict(post.getId());
         return postMapper.toDto(post);
     }
 
     @Override
-    @Transactional
     public PostDto publishPost(Long postId) {
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new NotFoundException(POST_NOT_EXIST));
@@ -134,104 +143,222 @@ public class PostServiceImpl implements PostService {
             throw new IllegalStateException("Post is already published");
         }
 
-        post.setPublished(true);
-        post.setPublishedAt(LocalDateTime.now());
+        markPublished(post);
         post = postRepository.save(post);
-
-        publishPostEvent(post);
-
-        authorCacheRepository.saveAuthor(postId, post.getAuthorId());
+        onPublished(post);
 
         return postMapper.toDto(post);
     }
 
-    private void publishPostEvent(Post post) {
-        Long authorId = post.getAuthorId();
+    @Override
+    public int publishScheduledPosts(List<Long> postIds) {
+        List<Post> posts = postRepository.claimScheduledPosts(postIds, LocalDateTime.now());
+        posts.forEach(this::markPublished);
+        postRepository.saveAll(posts).forEach(this::onPublished);
+        return posts.size();
+    }
 
-        CompletableFuture
-                .supplyAsync(() -> userServiceClient.getFollowers(
-                        authorId,
-                        new UserFilterRequestDto(null, null, null, null)
-                ), postEventExecutor)
-                .thenAccept(followers -> {
-                    List<Long> followerIds = followers.stream()
-                            .map(FollowerResponseDto::id)
-                            .toList();
+    private void markPublished(Post post) {
+        post.setPublished(true);
+        post.setPublishedAt(LocalDateTime.now());
+    }
 
-                    PostCreatedEvent event = PostCreatedEvent.builder()
-                            .postId(post.getId())
-                            .authorId(authorId)
-                            .createdAt(post.getPublishedAt())
-                            .followerIds(followerIds)
-                            .build();
-
-                    kafkaPostProducer.sendPostCreatedEvent(event);
-                })
-                .exceptionally(ex -> {
-                    log.error("Failed to fetch followers or send post event for postId={}: {}",
-                            post.getId(), ex.getMessage(), ex);
-                    return null;
-                });
+    private void onPublished(Post post) {
+        postDtoCache.evict(post.getId());
+        enqueuePostEvent(post, PostEventType.CREATED);
+        if (post.getAuthorId() != null) {
+            authorCacheRepository.saveAuthor(post.getId(), post.getAuthorId());
+        }
+        eventPublisher.publishEvent(new PostModerationRequestedEvent(post.getId()));
+    }
+
+    /**
+     * Feeds are built from the followers of the author, so posts of a project without an author are
+     * not fanned out.
+     */
+    private void enqueuePostEvent(Post post, PostEventType eventType) {
+        if (post.getAuthorId() == null) {
+            log.debug("Post {} has no author, skipping {} feed event", post.getId(), eventType);
+            return;
+        }
+        postEventOutboxRepository.save(PostEventOutbox.builder()
+                .postId(post.getId())
+                .authorId(post.getAuthorId())
+                .eventType(eventType)
+                .publishedAt(post.getPublishedAt())
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
     }
 
     @Override
     public PostDto updatePost(Long postId, PostDto postDto) {
         validatePostDto(postDto);
-        Post post = postRepository.findById(postId).orElseThrow(() -> new NotFoundException(POST_NOT_EXIST));
+        Post post = postRepository.findByIdForUpdate(postId).orElseThrow(() -> new NotFoundException(POST_NOT_EXIST));
         if (postDto.getAuthorId() != null && !postDto.getAuthorId().equals(post.getAuthorId())) {
             throw new IllegalArgumentException("Cannot change the author of the post");
         }
         if (postDto.getProjectId() != null && !postDto.getProjectId().equals(post.getProjectId())) {
             throw new IllegalArgumentException("Cannot change the project of the post");
         }
+        String previousContent = post.getContent();
         postMapper.update(postDto, post);
+        boolean remoderate = !Objects.equals(previousContent, post.getContent());
+        if (remoderate) {
+            // the post is locked, so moderation can't store a verdict between this check and the reset
+            if (post.getVerifiedDate() != null && !post.isVerified() && post.getAuthorId() != null) {
+                authorOffenseCounterRepository.addRejectedPosts(post.getAuthorId(), -1);
+            }
+            post.setVerified(false);
+            post.setVerifiedDate(null);
+        }
         post = postRepository.save(post);
+        postDtoCache.evict(postId);
+        if (remoderate && post.isPublished() && !post.isDeleted()) {
+            eventPublisher.publishEvent(new PostModerationRequestedEvent(postId));
+        }
         return postMapper.toDto(post);
     }
 
     @Override
     public PostDto softDelete(Long postId) {
         Post post = postRepository.findById(postId).orElseThrow(() -> new NotFoundException(POST_NOT_EXIST));
+        boolean wasInFeeds = post.isPublished() && !post.isDeleted();
         post.setDeleted(true);
         post = postRepository.save(post);
+        postDtoCache.evict(postId);
+
+        if (wasInFeeds) {
+            enqueuePostEvent(post, PostEventType.DELETED);
+        }
+        return postMapper.toDto(post);
+    }
+
+    @Override
+    public PostDto unpublishPost(Long postId) {
+        Post post = postRepository.findById(postId).orElseThrow(() -> new NotFoundException(POST_NOT_EXIST));
+        if (!post.isPublished()) {
+            throw new IllegalStateException("Post is not published");
+        }
+        post.setPublished(false);
+        post.setPublishedAt(null);
+        post = postRepository.save(post);
+        postDtoCache.evict(postId);
+
+        if (!post.isDeleted()) {
+            enqueuePostEvent(post, PostEventType.DELETED);
+        }
         return postMapper.toDto(post);
     }
 
     @Override
     public PostDto getPostById(Long postId) {
-        return postMapper.toDto(postRepository
-                .findByIdWithLikes(postId).orElseThrow(() -> new NotFoundException("The post hasn't been found")));
+        return postDtoCache.get(postId, id -> postRepository.findById(id).map(postMapper::toDto))
+                .orElseThrow(() -> new NotFoundException("The post hasn't been found"));
+    }
+
+    @Override
+    public List<PostLookupDto> getPostsByIds(List<Long> postIds) {
+        if (postIds.size() > maxBatchSize) {
+            throw new DataValidationException("No more than " + maxBatchSize + " posts can be requested at once");
+        }
+        Map<Long, Optional<PostDto>> posts = postDtoCache.getAll(postIds.stream().distinct().toList(),
+                misses -> postRepository.findAllByIdIn(misses).stream()
+                        .collect(Collectors.toMap(Post::getId, postMapper::toDto)));
+
+        return postIds.stream()
+                .map(postId -> posts.getOrDefault(postId, Optional.empty())
+                        .map(postDto -> new PostLookupDto(postId, true, postDto))
+                        .orElseGet(() -> new PostLookupDto(postId, false, null)))
+                .toList();
     }
 
     @Override
     public List<PostDto> getAllDraftsByAuthorId(Long authorId) {
-        return postRepository.findByAuthorId(authorId).stream()
-                .filter(post -> !post.isPublished() && !post.isDeleted())
-                .sorted(Comparator.comparing(Post::getCreatedAt).reversed())
+        return postRepository.findDraftsByAuthorId(authorId, Pageable.unpaged()).stream()
                 .map(postMapper::toDto)
                 .toList();
     }
 
     @Override
     public List<PostDto> getAllDraftsByProjectId(Long projectId) {
-        List<Post> posts = postRepository.findByProjectId(projectId);
-        return posts.stream()
-                .filter(post -> !post.isPublished() && !post.isDeleted())
-                .sorted(Comparator.comparing(Post::getCreatedAt).reversed())
+        return postRepository.findDraftsByProjectId(projectId, Pageable.unpaged()).stream()
                 .map(postMapper::toDto)
                 .toList();
     }
 
+    @Override
+    public PostPageDto getDraftsByAuthorId(Long authorId, String cursor, int limit) {
+        validatePageLimit(limit);
+        PostCursor after = PostCursor.decode(cursor);
+        Pageable page = PageRequest.of(0, limit);
+        List<Post> posts = after == null
+                ? postRepository.findDraftsByAuthorId(authorId, page)
+                : postRepository.findDraftsByAuthorIdAfter(authorId, after.timestamp(), after.postId(), page);
+        return toPostPage(posts, limit, Post::getCreatedAt);
+    }
+
+    @Override
+    public PostPageDto getDraftsByProjectId(Long projectId, String cursor, int limit) {
+        validatePageLimit(limit);
+        PostCursor after = PostCursor.decode(cursor);
+        Pageable page = PageRequest.of(0, limit);
+        List<Post> posts = after == null
+                ? postRepository.findDraftsByProjectId(projectId, page)
+                : postRepository.findDraftsByProjectIdAfter(projectId, after.timestamp(), after.postId(), page);
+        return toPostPage(posts, limit, Post::getCreatedAt);
+    }
+
     @Override
     public List<PostDto> getAllPublishedPostsByAuthorId(Long authorId) {
-        List<Post> posts = postRepository.findByAuthorIdWithLikes(authorId);
-        return posts.stream()
-                .filter(post -> post.isPublished() && !post.isDeleted())
-                .sorted(Comparator.comparing(Post::getPublishedAt).reversed())
+        return postRepository.findPublishedByAuthorId(authorId, Pageable.unpaged()).stream()
                 .map(postMapper::toDto)
                 .toList();
     }
 
+    @Override
+    public PostPageDto getPublishedPostsByAuthorId(Long authorId, String cursor, int limit) {
+        validatePageLimit(limit);
+        PostCursor after = PostCursor.decode(cursor);
+        Pageable page = PageRequest.of(0, limit);
+        List<Post> posts = after == null
+                ? postRepository.findPublishedByAuthorId(authorId, page)
+                : postRepository.findPublishedByAuthorIdAfter(authorId, after.timestamp(), after.postId(), page);
+        return toPostPage(posts, limit, Post::getPublishedAt);
+    }
+
+    @Override
+    public PostPageDto getPublishedPostsByProjectId(Long projectId, String cursor, int limit) {
+        validatePageLimit(limit);
+        PostCursor after = PostCursor.decode(cursor);
+        Pageable page = PageRequest.of(0, limit);
+        List<Post> posts = after == null
+                ? postRepository.findPublishedByProjectId(projectId, page)
+                : postRepository.findPublishedByProjectIdAfter(projectId, after.timestamp(), after.postId(), page);
+        return toPostPage(posts, limit, Post::getPublishedAt);
+    }
+
+    private void validatePageLimit(int limit) {
+        if (limit < 1 || limit > maxPageLimit) {
+            throw new DataValidationException("Page limit must be between 1 and " + maxPageLimit);
+        }
+    }
+
+    private PostPageDto toPostPage(List<Post> posts, int limit, Function<Post, LocalDateTime> cursorTimestamp) {
+        if (posts.isEmpty()) {
+            return new PostPageDto(List.of(), null);
+        }
+
+        List<PostDto> postDtos = posts.stream()
+                .map(postMapper::toDto)
+                .toList();
+
+        Post last = posts.get(posts.size() - 1);
+        String nextCursor = posts.size() == limit
+                ? new PostCursor(cursorTimestamp.apply(last), last.getId()).encode()
+                : null;
+        return new PostPageDto(postDtos, nextCursor);
+    }
+
     public List<ResourceDto> uploadImageToPost(Long postId, List<MultipartFile> files) {
         log.info("Starting image upload for postId: {}, files count: {}", postId, files.size());
         Post post = postRepository.findById(postId).orElseThrow(() -> new NotFoundException("Post doesn't exist"));
@@ -284,31 +411,11 @@ public class PostServiceImpl implements PostService {
 
     @Override
     public List<PostDto> getAllPublishedPostsByProjectId(Long projectId) {
-        List<Post> posts = postRepository.findByProjectIdWithLikes(projectId);
-        return posts.stream()
-                .filter(post -> post.isPublished() && !post.isDeleted())
-                .sorted(Comparator.comparing(Post::getPublishedAt).reversed())
+        return postRepository.findPublishedByProjectId(projectId, Pageable.unpaged()).stream()
                 .map(postMapper::toDto)
                 .toList();
     }
 
-    @Override
-    public void moderatePosts() {
-        List<Post> batch;
-        int processedTotal = 0;
-        while (!(batch = postRepository.findUnverifiedPosts(limitToModerate)).isEmpty()){
-            List<CompletableFuture<Void>> futures = batch.stream()
-                    .map(post -> CompletableFuture.runAsync(
-                            () -> moderatePost(post),
-                            taskScheduler.getScheduledExecutor()
-                    ))
-                    .toList();
-            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
-            processedTotal += batch.size();
-            log.info("Processed batch of {} posts. Total processed: {}", batch.size(), processedTotal);
-        }
-    }
-
     public Post getPostEntryById(@Min(1) long id) {
         log.debug("Fetching post with ID: {}", id);
 
@@ -322,12 +429,28 @@ public class PostServiceImpl implements PostService {
         return postOptional.get();
     }
 
-    private void moderatePost(Post post) {
-        boolean isClean = moderationDictionary.isTextWithoutForbiddenWords(post.getContent());
-        post.setVerified(isClean);
-        post.setVerifiedDate(LocalDateTime.now());
-        postRepository.save(post);
-        log.debug("Post {} moderated. Status: {}", post.getId(), isClean);
+    /**
+     * Moderates one post outside the moderation sweep. Posts that already have a verdict are skipped,
+     * and a verdict for content that changed in the meantime is dropped; the change requests its own.
+     */
+    @Override
+    public void moderatePost(Long postId) {
+        postRepository.findById(postId)
+                .filter(post -> post.getVerifiedDate() == null && !post.isDeleted())
+                .ifPresent(post -> {
+                    List<String> forbiddenWords = moderationDictionary.findForbiddenWords(post.getContent()).stream()
+                            .map(AhoCorasickMatcher.Match::term)
+                            .distinct()
+                            .toList();
+                    boolean isClean = forbiddenWords.isEmpty();
+                    int updated = postRepository.updateModerationVerdict(postId, isClean, LocalDateTime.now(),
+                            post.getUpdatedAt());
+                    if (updated > 0 && !isClean && post.getAuthorId() != null) {
+                        authorOffenseCounterRepository.addRejectedPosts(post.getAuthorId(), 1);
+                    }
+                    log.debug("Post {} moderated on change. Status: {}, stored: {}, forbidden words: {}",
+                            postId, isClean, updated > 0, forbiddenWords);
+                });
     }
 
     @Override
@@ -343,18 +466,20 @@ public class PostServiceImpl implements PostService {
 
     @Override
     public void banUsersWithTooManyOffendedPosts() {
-        List<Post> rejectedPosts = postRepository.findByVerifiedFalse();
-
-        Map<Long, Long> authorRejectedCount = rejectedPosts.stream()
-                .collect(Collectors.groupingBy(Post::getAuthorId, Collectors.counting()));
-
-        List<Long> userIdsToBan = authorRejectedCount.entrySet().stream()
-                .filter(user -> user.getValue() > countOfUnverifiedPostsToBan)
-                .map(Map.Entry::getKey)
-                .toList();
+        List<Long> userIdsToBan = authorOffenseCounterRepository
+                .findAuthorsWithRejectedPostsAbove(countOfUnverifiedPostsToBan);
+        if (userIdsToBan.isEmpty()) {
+            return;
+        }
         log.info("Users ids {} sent to be baned", userIdsToBan);
 
-        userIdsToBan.forEach(userId -> redisTemplate.convertAndSend(channelTopic.getTopic(), userId.toString()));
+        redisTemplate.executePipelined(new SessionCallback<>() {
+            @Override
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                userIdsToBan.forEach(userId -> operations.convertAndSend(channelTopic.getTopic(), userId.toString()));
+                return null;
+            }
+        });
         log.info("Information to ban intruders has been sent via redis");
     }
 
@@ -363,8 +488,7 @@ public class PostServiceImpl implements PostService {
             throw new IllegalArgumentException("Post can have only one author: either user or project");
         }
         if (postDto.getAuthorId() != null) {
-            UserDto userDto = userServiceClient.getUser(postDto.getAuthorId());
-            if (userDto == null) {
+            if (userCache.getUser(postDto.getAuthorId()).isEmpty()) {
                 throw new NotFoundException("Author doesn't exist");
             }
         }
@@ -0,0 +1,99 @@
+package faang.school.postservice.service;
+
+import faang.school.postservice.dto.ScheduledPostProjection;
+import faang.school.postservice.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes posts at their {@code scheduledAt}. Posts due within the look-ahead window are kept in
+ * a {@link DelayQueue}; the window is re-read on every refresh so new, rescheduled and previously
+ * skipped posts are picked up. Due posts are published in batches, and every instance claims rows
+ * with {@code FOR UPDATE SKIP LOCKED}, so several instances can share the same queue contents.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ScheduledPublicationService {
+    private final PostRepository postRepository;
+    private final PostService postService;
+    private final DelayQueue<ScheduledPublication> queue = new DelayQueue<>();
+    private final Map<Long, Long> queuedAt = new ConcurrentHashMap<>();
+
+    @Value("${app.scheduled-publication.look-ahead-seconds}")
+    private long lookAheadSeconds;
+
+    @Value("${app.scheduled-publication.max-queued}")
+    private int maxQueued;
+
+    @Value("${app.scheduled-publication.batch-size}")
+    private int batchSize;
+
+    public void refresh() {
+        List<ScheduledPostProjection> upcoming = postRepository
+                .findScheduledBefore(LocalDateTime.now().plusSeconds(lookAheadSeconds), maxQueued);
+        int added = 0;
+        for (ScheduledPostProjection post : upcoming) {
+            long dueAt = toEpochMillis(post.getScheduledAt());
+            Long previous = queuedAt.put(post.getId(), dueAt);
+            if (previous == null || previous != dueAt) {
+                queue.add(new ScheduledPublication(post.getId(), dueAt));
+                added++;
+            }
+        }
+        if (added > 0) {
+            log.debug("Queued {} scheduled posts, {} waiting", added, queue.size());
+        }
+    }
+
+    public void publishDue() {
+        List<ScheduledPublication> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            List<Long> postIds = batch.stream()
+                    .filter(publication -> queuedAt.remove(publication.postId(), publication.dueAt()))
+                    .map(ScheduledPublication::postId)
+                    .toList();
+            batch.clear();
+            if (postIds.isEmpty()) {
+                continue;
+            }
+
+            try {
+                int published = postService.publishScheduledPosts(postIds);
+                log.info("Published {} of {} due scheduled posts", published, postIds.size());
+            } catch (RuntimeException e) {
+                log.error("Failed to publish scheduled posts {}, they will be retried on the next refresh",
+                        postIds, e);
+            }
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record ScheduledPublication(long postId, long dueAt) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAt - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueAt, ((ScheduledPublication) other).dueAt);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package faang.school.postservice.service;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import faang.school.postservice.client.UserServiceClient;
+import faang.school.postservice.dto.user.UserDto;
+import feign.FeignException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Local cache of users in front of {@link UserServiceClient}, used to check that an author exists
+ * on writes. Entries are refreshed in the background once they are older than the refresh interval,
+ * so active users are served from memory without ever waiting for user-service; a failed refresh
+ * keeps the old entry until it expires. Unknown users are remembered for a shorter time.
+ */
+@Service
+public class UserCache {
+    private final UserServiceClient userServiceClient;
+    private final LoadingCache<Long, Optional<UserDto>> cache;
+
+    public UserCache(UserServiceClient userServiceClient,
+                     @Value("${app.user-cache.max-size}") long maxSize,
+                     @Value("${app.user-cache.ttl-seconds}") long ttlSeconds,
+                     @Value("${app.user-cache.refresh-after-seconds}") long refreshAfterSeconds,
+                     @Value("${app.user-cache.missing-ttl-seconds}") long missingTtlSeconds) {
+        this.userServiceClient = userServiceClient;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UserExpiry(Duration.ofSeconds(ttlSeconds), Duration.ofSeconds(missingTtlSeconds)))
+                .refreshAfterWrite(Duration.ofSeconds(refreshAfterSeconds))
+                .build(new UserLoader());
+    }
+
+    public Optional<UserDto> getUser(long userId) {
+        return cache.get(userId);
+    }
+
+    private class UserLoader implements CacheLoader<Long, Optional<UserDto>> {
+
+        @Override
+        public Optional<UserDto> load(Long userId) {
+            try {
+                return Optional.ofNullable(userServiceClient.getUser(userId));
+            } catch (FeignException.NotFound e) {
+                return Optional.empty();
+            }
+        }
+    }
+
+    private record UserExpiry(Duration ttl, Duration missingTtl) implements Expiry<Long, Optional<UserDto>> {
+
+        @Override
+        public long expireAfterCreate(Long userId, Optional<UserDto> user, long currentTime) {
+            return (user.isPresent() ? ttl : missingTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Long userId, Optional<UserDto> user, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(userId, user, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long userId, Optional<UserDto> user, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,3 @@
+CREATE INDEX IF NOT EXISTS idx_post_author_published_at
+    ON post (author_id, published_at DESC, id DESC)
+    WHERE published = TRUE AND deleted = FALSE;
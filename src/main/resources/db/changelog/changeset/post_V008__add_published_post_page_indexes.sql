@@ -0,0 +1,6 @@
+-- author pages reuse idx_post_author_published_at from V007
+CREATE INDEX IF NOT EXISTS idx_post_project_published_at
+    ON post (project_id, published_at DESC, id DESC)
+    WHERE published = TRUE AND deleted = FALSE;
+
+CREATE INDEX IF NOT EXISTS idx_likes_post_id ON likes (post_id);
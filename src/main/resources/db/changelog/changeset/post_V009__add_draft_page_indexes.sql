@@ -0,0 +1,7 @@
+CREATE INDEX IF NOT EXISTS idx_post_author_draft_created_at
+    ON post (author_id, created_at DESC, id DESC)
+    WHERE published = FALSE AND deleted = FALSE;
+
+CREATE INDEX IF NOT EXISTS idx_post_project_draft_created_at
+    ON post (project_id, created_at DESC, id DESC)
+    WHERE published = FALSE AND deleted = FALSE;
@@ -0,0 +1,12 @@
+ALTER TABLE post ADD COLUMN IF NOT EXISTS like_count BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE post ADD COLUMN IF NOT EXISTS comment_count BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS idx_comment_post_id ON comment (post_id);
+
+UPDATE post p SET like_count = l.cnt
+FROM (SELECT post_id, COUNT(*) AS cnt FROM likes WHERE post_id IS NOT NULL GROUP BY post_id) l
+WHERE p.id = l.post_id;
+
+UPDATE post p SET comment_count = c.cnt
+FROM (SELECT post_id, COUNT(*) AS cnt FROM comment GROUP BY post_id) c
+WHERE p.id = c.post_id;
@@ -0,0 +1,3 @@
+CREATE INDEX IF NOT EXISTS idx_post_scheduled_at
+    ON post (scheduled_at)
+    WHERE published = FALSE AND deleted = FALSE AND scheduled_at IS NOT NULL;
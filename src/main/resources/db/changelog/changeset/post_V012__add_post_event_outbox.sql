@@ -0,0 +1,14 @@
+CREATE TABLE IF NOT EXISTS post_event_outbox
+(
+    id              BIGINT PRIMARY KEY GENERATED ALWAYS AS IDENTITY UNIQUE,
+    post_id         BIGINT      NOT NULL,
+    author_id       BIGINT      NOT NULL,
+    event_type      VARCHAR(16) NOT NULL,
+    published_at    TIMESTAMPTZ,
+    attempts        INT         NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMPTZ NOT NULL DEFAULT current_timestamp,
+    created_at      TIMESTAMPTZ DEFAULT current_timestamp
+);
+
+CREATE INDEX IF NOT EXISTS idx_post_event_outbox_next_attempt_at ON post_event_outbox (next_attempt_at, id);
+CREATE INDEX IF NOT EXISTS idx_post_event_outbox_author_id ON post_event_outbox (author_id, id);
@@ -0,0 +1,3 @@
+CREATE INDEX IF NOT EXISTS idx_post_unmoderated
+    ON post (id)
+    WHERE verified = FALSE AND verified_date IS NULL;
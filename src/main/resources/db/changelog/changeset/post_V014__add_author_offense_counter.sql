@@ -0,0 +1,18 @@
+CREATE TABLE IF NOT EXISTS author_offense_counter
+(
+    author_id      BIGINT PRIMARY KEY,
+    rejected_posts INT         NOT NULL DEFAULT 0,
+    updated_at     TIMESTAMPTZ NOT NULL DEFAULT current_timestamp
+);
+
+CREATE INDEX IF NOT EXISTS idx_author_offense_counter_rejected_posts
+    ON author_offense_counter (rejected_posts);
+
+INSERT INTO author_offense_counter (author_id, rejected_posts)
+SELECT author_id, count(*)
+FROM post
+WHERE verified = FALSE
+  AND verified_date IS NOT NULL
+  AND author_id IS NOT NULL
+GROUP BY author_id
+ON CONFLICT (author_id) DO NOTHING;
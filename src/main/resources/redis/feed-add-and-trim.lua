@@ -0,0 +1,13 @@
+-- Adds a post to a feed ZSET and trims it to the newest entries in one atomic step.
+-- KEYS[1] - feed key
+-- ARGV[1] - post id (member), ARGV[2] - score, ARGV[3] - max feed size,
+-- ARGV[4] - key TTL in seconds, 0 keeps the current expiry
+redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1])
+redis.call('ZREMRANGEBYRANK', KEYS[1], 0, -tonumber(ARGV[3]) - 1)
+
+local ttl = tonumber(ARGV[4])
+if ttl > 0 then
+    redis.call('EXPIRE', KEYS[1], ttl)
+end
+
+return redis.call('ZCARD', KEYS[1])
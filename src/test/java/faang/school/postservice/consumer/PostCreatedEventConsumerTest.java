@@ -1,6 +1,7 @@
 package faang.school.postservice.consumer;
 
 import faang.school.postservice.dto.PostCreatedEvent;
+import faang.school.postservice.dto.PostDeletedEvent;
 import faang.school.postservice.repository.FeedRepository;
 import faang.school.postservice.repository.PostCacheRepository;
 import org.junit.jupiter.api.Test;
@@ -8,18 +9,36 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class PostCreatedEventConsumerTest {
@@ -37,54 +56,132 @@ class PostCreatedEventConsumerTest {
     private PostCreatedEventConsumer consumer;
 
     @Test
-    void consume_shouldCachePostAndUpdateFeeds_thenAcknowledge() {
-        PostCreatedEvent event = PostCreatedEvent.builder()
-                .postId(1L)
-                .authorId(10L)
-                .followerIds(List.of(100L, 200L))
-                .createdAt(LocalDateTime.now())
-                .build();
-
+    void consume_shouldCachePostsAndApplyBatchInOnePipeline_thenAcknowledge() {
+        PostCreatedEvent first = event(1L, List.of(100L, 200L));
+        PostCreatedEvent second = event(2L, List.of(300L));
+        List<PostCreatedEvent> events = List.of(first, second);
+        when(feedRepository.findPendingFanOutChunks(events)).thenReturn(events);
 
-        consumer.consume(event, acknowledgment);
+        consumer.consume(List.of(first, second), acknowledgment);
 
-        verify(postCacheRepository).cachePost(event);
-        verify(feedRepository).addPostToFeed(100L, 1L, event.getCreatedAt());
-        verify(feedRepository).addPostToFeed(200L, 1L, event.getCreatedAt());
+        verify(postCacheRepository).cachePosts(events);
+        verify(feedRepository).addPostsToFeeds(events);
+        verify(feedRepository).markFanOutChunksDone(events);
         verify(acknowledgment).acknowledge();
     }
 
     @Test
     void consume_shouldAcknowledgeWithoutUpdatingFeedsWhenNoFollowers() {
-        PostCreatedEvent event = PostCreatedEvent.builder()
+        PostCreatedEvent event = event(1L, Collections.emptyList());
+        when(feedRepository.findPendingFanOutChunks(List.of())).thenReturn(List.of());
+
+        consumer.consume(List.of(event), acknowledgment);
+
+        verify(postCacheRepository).cachePosts(List.of(event));
+        verify(feedRepository, never()).addPostsToFeeds(anyList());
+        verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    void consume_shouldSkipAlreadyProcessedChunks() {
+        PostCreatedEvent processed = event(1L, List.of(100L));
+        PostCreatedEvent pending = event(2L, List.of(200L));
+        when(feedRepository.findPendingFanOutChunks(List.of(processed, pending))).thenReturn(List.of(pending));
+
+        consumer.consume(List.of(processed, pending), acknowledgment);
+
+        verify(feedRepository).addPostsToFeeds(List.of(pending));
+        verify(feedRepository).markFanOutChunksDone(List.of(pending));
+        verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    void consume_shouldAddPullModePostToAuthorTimeline() {
+        PostCreatedEvent event = event(1L, Collections.emptyList());
+        event.setPullMode(true);
+        when(feedRepository.findPendingFanOutChunks(List.of())).thenReturn(List.of());
+
+        consumer.consume(List.of(event), acknowledgment);
+
+        verify(feedRepository).addPostToTimeline(10L, 1L, event.getCreatedAt());
+        verify(feedRepository, never()).addPostsToFeeds(anyList());
+        verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    void consume_shouldRemoveDeletedPostsAfterInsertsAndEvictCache() {
+        PostDeletedEvent deleted = PostDeletedEvent.builder()
                 .postId(1L)
                 .authorId(10L)
-                .followerIds(Collections.emptyList())
-                .createdAt(LocalDateTime.now())
+                .followerIds(List.of(100L))
                 .build();
+        when(feedRepository.findPendingFanOutChunks(List.of())).thenReturn(List.of());
 
-        consumer.consume(event, acknowledgment);
+        consumer.consume(List.of(deleted), acknowledgment);
 
-        verify(postCacheRepository).cachePost(event);
-        verify(feedRepository, never()).addPostToFeed(anyLong(), anyLong(), any());
+        verify(feedRepository).removePostsFromFeeds(List.of(deleted));
+        verify(postCacheRepository).evictPosts(List.of(1L));
+        verify(feedRepository, never()).addPostsToFeeds(anyList());
         verify(acknowledgment).acknowledge();
     }
 
     @Test
-    void consume_shouldNackWhenExceptionThrown() {
-        PostCreatedEvent event = PostCreatedEvent.builder()
+    @SuppressWarnings("unchecked")
+    void consume_shouldFanOutAgainWhenPostIsRepublishedAfterRemoval() {
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        RedisTemplate<String, Long> feedRedisTemplate = mock(RedisTemplate.class);
+        ValueOperations<String, Object> valueOps = mock(ValueOperations.class);
+        Map<String, Object> markers = new HashMap<>();
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        when(valueOps.multiGet(any())).thenAnswer(invocation -> invocation.<Collection<String>>getArgument(0).stream()
+                .map(markers::get)
+                .toList());
+        doAnswer(invocation -> markers.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(valueOps).set(anyString(), any(), anyLong(), eq(TimeUnit.SECONDS));
+        when(redisTemplate.executePipelined(any(SessionCallback.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0, SessionCallback.class).execute(redisTemplate));
+        FeedRepository realFeedRepository = new FeedRepository(redisTemplate, feedRedisTemplate, mock(RedisScript.class));
+        ReflectionTestUtils.setField(realFeedRepository, "fanOutBatchSize", 100);
+        ReflectionTestUtils.setField(realFeedRepository, "chunkMarkerTtlSeconds", 86400L);
+        PostCreatedEventConsumer feedConsumer = new PostCreatedEventConsumer(realFeedRepository, postCacheRepository);
+
+        PostCreatedEvent published = event(1L, List.of(100L));
+        PostDeletedEvent unpublished = PostDeletedEvent.builder()
                 .postId(1L)
                 .authorId(10L)
                 .followerIds(List.of(100L))
-                .createdAt(LocalDateTime.now())
                 .build();
+        PostCreatedEvent republished = event(1L, List.of(100L));
+        republished.setCreatedAt(published.getCreatedAt().plusMinutes(5));
+
+        feedConsumer.consume(List.of(published), acknowledgment);
+        feedConsumer.consume(List.of(unpublished), acknowledgment);
+        feedConsumer.consume(List.of(republished), acknowledgment);
+
+        // insert, removal and insert again, each one pipelined round-trip
+        verify(feedRedisTemplate, times(2)).executePipelined(any(SessionCallback.class));
+        verify(feedRedisTemplate).executePipelined(any(RedisCallback.class));
+        verify(acknowledgment, times(3)).acknowledge();
+        assertEquals(2, markers.size());
+    }
+
+    @Test
+    void consume_shouldNackBatchWhenExceptionThrown() {
+        doThrow(new RuntimeException("Cache failure")).when(postCacheRepository).cachePosts(any());
 
-        doThrow(new RuntimeException("Cache failure")).when(postCacheRepository).cachePost(any());
+        consumer.consume(List.of(event(1L, List.of(100L))), acknowledgment);
 
-        consumer.consume(event, acknowledgment);
+        verify(feedRepository, never()).addPostsToFeeds(anyList());
+        verify(feedRepository, never()).addPostToTimeline(anyLong(), anyLong(), any());
+        verify(acknowledgment).nack(eq(0), any(Duration.class));
+    }
 
-        verify(postCacheRepository).cachePost(event);
-        verify(feedRepository, never()).addPostToFeed(anyLong(), anyLong(), any());
-        verify(acknowledgment).nack(any(Duration.class));
+    private PostCreatedEvent event(Long postId, List<Long> followerIds) {
+        return PostCreatedEvent.builder()
+                .postId(postId)
+                .authorId(10L)
+                .followerIds(followerIds)
+                .createdAt(LocalDateTime.now())
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -1,19 +1,30 @@
 package faang.school.postservice.producer;
 
 import faang.school.postservice.dto.PostCreatedEvent;
+import faang.school.postservice.dto.PostDeletedEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class KafkaPostProducerImplTest {
@@ -21,31 +32,115 @@ class KafkaPostProducerImplTest {
     @Mock
     private KafkaTemplate<String, PostCreatedEvent> kafkaTemplate;
 
-    @InjectMocks
+    @Mock
+    private KafkaTemplate<String, PostDeletedEvent> postDeletedKafkaTemplate;
+
     private KafkaPostProducerImpl producer;
 
     @BeforeEach
     void setUp() {
+        producer = new KafkaPostProducerImpl(kafkaTemplate, postDeletedKafkaTemplate);
         ReflectionTestUtils.setField(producer, "topic", "test-topic");
+        ReflectionTestUtils.setField(producer, "shardCount", 3);
+        ReflectionTestUtils.setField(producer, "chunkSize", 2);
+    }
+
+    @Test
+    void shouldSendEventWithoutFollowersKeyedByAuthor() {
+        PostCreatedEvent event = PostCreatedEvent.builder()
+                .postId(1L)
+                .authorId(10L)
+                .build();
+        when(kafkaTemplate.send(anyString(), any(), anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        PostEventSend sent = producer.sendPostCreatedEvent(event);
+
+        verify(kafkaTemplate).send(eq("test-topic"), isNull(), eq("10"),
+                argThat(single -> single.getPostId().equals(1L) && single.getChunkCount() == 1));
+        assertEquals(1, sent.chunkCount());
+        assertEquals(0, event.getChunkCount());
+        assertTrue(sent.acked().isDone());
+    }
+
+    @Test
+    void shouldSplitFollowersIntoShardKeyedChunks() {
+        PostCreatedEvent event = PostCreatedEvent.builder()
+                .postId(1L)
+                .authorId(10L)
+                .followerIds(List.of(3L, 6L, 9L, 4L, 5L))
+                .build();
+        when(kafkaTemplate.send(anyString(), any(), anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        PostEventSend sent = producer.sendPostCreatedEvent(event);
+
+        assertEquals(4, sent.chunkCount());
+        ArgumentCaptor<Integer> partitions = ArgumentCaptor.forClass(Integer.class);
+        ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<PostCreatedEvent> chunks = ArgumentCaptor.forClass(PostCreatedEvent.class);
+        verify(kafkaTemplate, times(4)).send(eq("test-topic"), partitions.capture(), keys.capture(), chunks.capture());
+
+        assertEquals(List.of(0, 0, 1, 2), partitions.getAllValues());
+        assertEquals(List.of("0", "0", "1", "2"), keys.getAllValues());
+        assertEquals(List.of(List.of(3L, 6L), List.of(9L), List.of(4L), List.of(5L)),
+                chunks.getAllValues().stream().map(PostCreatedEvent::getFollowerIds).toList());
+        assertTrue(chunks.getAllValues().stream().allMatch(chunk -> chunk.getChunkCount() == 4));
+        assertEquals(List.of(0, 1, 2, 3),
+                chunks.getAllValues().stream().map(PostCreatedEvent::getChunkIndex).toList());
+    }
+
+    @Test
+    void shouldNumberChunksFromEventChunkIndex() {
+        PostCreatedEvent page = PostCreatedEvent.builder()
+                .postId(1L)
+                .authorId(10L)
+                .followerIds(List.of(3L, 4L))
+                .chunkIndex(5)
+                .build();
+        when(kafkaTemplate.send(anyString(), any(), anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        PostEventSend sent = producer.sendPostCreatedEvent(page);
+
+        ArgumentCaptor<PostCreatedEvent> chunks = ArgumentCaptor.forClass(PostCreatedEvent.class);
+        verify(kafkaTemplate, times(2)).send(eq("test-topic"), any(), anyString(), chunks.capture());
+        assertEquals(List.of(5, 6), chunks.getAllValues().stream().map(PostCreatedEvent::getChunkIndex).toList());
+        assertEquals(2, sent.chunkCount());
+        assertEquals(0, page.getChunkCount());
     }
 
     @Test
-    void shouldSendEventToKafka() {
-        PostCreatedEvent event = new PostCreatedEvent();
+    void shouldShardRemovalLikeInsert() {
+        PostDeletedEvent event = PostDeletedEvent.builder()
+                .postId(1L)
+                .authorId(10L)
+                .followerIds(List.of(3L, 4L))
+                .build();
+        when(postDeletedKafkaTemplate.send(anyString(), any(), anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
 
-        producer.sendPostCreatedEvent(event);
+        PostEventSend sent = producer.sendPostDeletedEvent(event);
 
-        verify(kafkaTemplate).send("test-topic", event);
+        assertEquals(2, sent.chunkCount());
+        verify(postDeletedKafkaTemplate).send(eq("test-topic"), eq(0), eq("0"),
+                argThat(chunk -> chunk.getFollowerIds().equals(List.of(3L)) && chunk.getChunkCount() == 2));
+        verify(postDeletedKafkaTemplate).send(eq("test-topic"), eq(1), eq("1"),
+                argThat(chunk -> chunk.getFollowerIds().equals(List.of(4L)) && chunk.getChunkIndex() == 1));
     }
 
     @Test
-    void shouldLogErrorWhenExceptionThrown() {
-        PostCreatedEvent event = new PostCreatedEvent();
+    void shouldReturnFailedFutureWhenExceptionThrown() {
+        PostCreatedEvent event = PostCreatedEvent.builder()
+                .postId(1L)
+                .authorId(10L)
+                .build();
 
-        doThrow(new RuntimeException("Kafka failure")).when(kafkaTemplate).send(anyString(), any());
+        doThrow(new RuntimeException("Kafka failure")).when(kafkaTemplate).send(anyString(), any(), anyString(), any());
 
-        producer.sendPostCreatedEvent(event);
+        PostEventSend sent = producer.sendPostCreatedEvent(event);
 
-        verify(kafkaTemplate).send("test-topic", event);
+        verify(kafkaTemplate).send(eq("test-topic"), isNull(), eq("10"), argThat(single -> single.getPostId().equals(1L)));
+        assertTrue(sent.acked().isCompletedExceptionally());
     }
-}
\ No newline at end of file
+}
@@ -1,23 +1,44 @@
 package faang.school.postservice.repository;
 
+import faang.school.postservice.config.context.FeedMemberRedisSerializer;
+import faang.school.postservice.dto.PostCreatedEvent;
+import faang.school.postservice.dto.PostDeletedEvent;
+import faang.school.postservice.dto.feed.FeedCursor;
+import faang.school.postservice.dto.feed.FeedEntry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.connection.zset.DefaultTuple;
+import org.springframework.data.redis.connection.zset.Tuple;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.SessionCallback;
-import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -27,64 +48,193 @@ class FeedRepositoryTest {
     @Mock
     private RedisTemplate<String, Object> redisTemplate;
 
-    @InjectMocks
+    @Mock
+    private RedisTemplate<String, Long> feedRedisTemplate;
+
+    @Mock
+    private RedisScript<Long> feedAddScript;
+
     private FeedRepository feedRepository;
 
     private final String redisKey = "feed:1";
+    private final byte[] rawKey = redisKey.getBytes(StandardCharsets.UTF_8);
     private final Long followerId = 1L;
     private final Long postId = 100L;
     private final LocalDateTime createdAt = LocalDateTime.of(2025, 6, 13, 12, 0);
-    private final double expectedScore = createdAt.toEpochSecond(ZoneOffset.UTC);
+    private final long expectedScore = createdAt.toEpochSecond(ZoneOffset.UTC);
 
     @BeforeEach
     void setUp() {
+        feedRepository = new FeedRepository(redisTemplate, feedRedisTemplate, feedAddScript);
         ReflectionTestUtils.setField(feedRepository, "maxFeedSize", 500);
+        ReflectionTestUtils.setField(feedRepository, "feedTtlSeconds", 0L);
+    }
+
+    @Test
+    void shouldAddPostAndTrimWithSingleScriptCall() {
+        feedRepository.addPostToFeed(followerId, postId, createdAt);
+
+        verify(feedRedisTemplate).execute(eq(feedAddScript), any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(List.of(redisKey)), aryEq(FeedMemberRedisSerializer.encode(postId)), aryEq(arg(expectedScore)),
+                aryEq(arg(500)), aryEq(arg(0)));
     }
 
     @Test
-    void shouldAddPostAndTrimInTransaction() {
-        RedisOperations<String, Object> redisOps = mock(RedisOperations.class);
-        ZSetOperations<String, Object> zSetOps = mock(ZSetOperations.class);
+    void shouldPipelineFanOutScriptCallsInChunks() {
+        ReflectionTestUtils.setField(feedRepository, "fanOutBatchSize", 2);
+        RedisOperations<String, Long> redisOps = mock(RedisOperations.class);
 
-        when(redisTemplate.execute(any(SessionCallback.class))).then(invocation -> {
+        when(feedRedisTemplate.executePipelined(any(SessionCallback.class))).then(invocation -> {
             SessionCallback<?> callback = invocation.getArgument(0);
-            return callback.execute(redisOps);
+            callback.execute(redisOps);
+            return List.of();
         });
 
-        when(redisOps.opsForZSet()).thenReturn(zSetOps);
-        when(redisOps.exec()).thenReturn(List.of(1));
+        feedRepository.addPostToFeeds(List.of(1L, 2L, 3L), postId, createdAt);
 
-        feedRepository.addPostToFeed(followerId, postId, createdAt);
+        verify(feedRedisTemplate, times(2)).executePipelined(any(SessionCallback.class));
+        verifyScriptCall(redisOps, "feed:1", postId);
+        verifyScriptCall(redisOps, "feed:2", postId);
+        verifyScriptCall(redisOps, "feed:3", postId);
+    }
+
+    @Test
+    void shouldReloadScriptAndRetryChunkWhenPipelineFails() {
+        ReflectionTestUtils.setField(feedRepository, "fanOutBatchSize", 2);
+        when(feedRedisTemplate.executePipelined(any(SessionCallback.class)))
+                .thenThrow(new RedisSystemException("NOSCRIPT", null))
+                .thenReturn(List.of());
 
-        verify(redisOps).watch(redisKey);
-        verify(redisOps).multi();
-        verify(redisOps).exec();
+        feedRepository.addPostToFeeds(List.of(1L, 2L), postId, createdAt);
 
-        verify(zSetOps).add(redisKey, postId, expectedScore);
-        verify(zSetOps).removeRange(redisKey, 0, -501);
+        verify(feedRedisTemplate).execute(any(RedisCallback.class));
+        verify(feedRedisTemplate, times(2)).executePipelined(any(SessionCallback.class));
     }
 
     @Test
-    void shouldLogWarningWhenTransactionFails() {
-        RedisOperations<String, Object> redisOps = mock(RedisOperations.class);
-        ZSetOperations<String, Object> zSetOps = mock(ZSetOperations.class);
-
-        when(redisTemplate.execute(any(SessionCallback.class))).then(invocation -> {
+    void shouldMergeBatchOfEventsIntoOnePipeline() {
+        ReflectionTestUtils.setField(feedRepository, "fanOutBatchSize", 10);
+        RedisOperations<String, Long> redisOps = mock(RedisOperations.class);
+        when(feedRedisTemplate.executePipelined(any(SessionCallback.class))).then(invocation -> {
             SessionCallback<?> callback = invocation.getArgument(0);
-            return callback.execute(redisOps);
+            callback.execute(redisOps);
+            return List.of();
         });
+        PostCreatedEvent first = PostCreatedEvent.builder()
+                .postId(postId).createdAt(createdAt).followerIds(List.of(1L, 2L)).build();
+        PostCreatedEvent second = PostCreatedEvent.builder()
+                .postId(200L).createdAt(createdAt).followerIds(List.of(3L)).build();
 
-        when(redisOps.opsForZSet()).thenReturn(zSetOps);
-        when(redisOps.exec()).thenReturn(null);
+        feedRepository.addPostsToFeeds(List.of(first, second));
 
-        feedRepository.addPostToFeed(followerId, postId, createdAt);
+        verify(feedRedisTemplate).executePipelined(any(SessionCallback.class));
+        verifyScriptCall(redisOps, "feed:1", postId);
+        verifyScriptCall(redisOps, "feed:2", postId);
+        verifyScriptCall(redisOps, "feed:3", 200L);
+    }
+
+    @Test
+    void shouldRemoveBinaryAndLegacyMembersInOnePipeline() {
+        ReflectionTestUtils.setField(feedRepository, "fanOutBatchSize", 10);
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisZSetCommands zSetCommands = mock(RedisZSetCommands.class);
+        when(connection.zSetCommands()).thenReturn(zSetCommands);
+        when(feedRedisTemplate.executePipelined(any(RedisCallback.class))).then(invocation -> {
+            invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection);
+            return List.of();
+        });
+        PostDeletedEvent deleted = PostDeletedEvent.builder()
+                .postId(postId).authorId(5L).followerIds(List.of(followerId)).build();
 
-        verify(redisOps).watch(redisKey);
-        verify(redisOps).multi();
-        verify(redisOps).exec();
+        feedRepository.removePostsFromFeeds(List.of(deleted));
 
-        verify(zSetOps).add(redisKey, postId, expectedScore);
-        verify(zSetOps).removeRange(redisKey, 0, -501);
+        verify(feedRedisTemplate).executePipelined(any(RedisCallback.class));
+        verify(zSetCommands).zRem(aryEq(rawKey), aryEq(FeedMemberRedisSerializer.encode(postId)),
+                aryEq("100".getBytes(StandardCharsets.US_ASCII)),
+                aryEq("[\"java.lang.Long\",100]".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    void shouldReturnOnlyChunksWithoutMarker() {
+        ValueOperations<String, Object> valueOps = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        PostCreatedEvent done = PostCreatedEvent.builder().postId(postId).createdAt(createdAt).chunkIndex(0).build();
+        PostCreatedEvent pending = PostCreatedEvent.builder().postId(postId).createdAt(createdAt).chunkIndex(1).build();
+        String publication = "feed:fanout:100:" + createdAt.toInstant(ZoneOffset.UTC).toEpochMilli();
+        when(valueOps.multiGet(List.of(publication + ":0", publication + ":1"))).thenReturn(Arrays.asList(1, null));
+
+        List<PostCreatedEvent> result = feedRepository.findPendingFanOutChunks(List.of(done, pending));
+
+        assertEquals(List.of(pending), result);
+    }
+
+    @Test
+    void shouldReadFirstPageByScoreRange() {
+        RedisZSetCommands zSetCommands = givenZSetCommands();
+        when(zSetCommands.zRevRangeByScoreWithScores(aryEq(rawKey), eq(Double.NEGATIVE_INFINITY),
+                eq(Double.POSITIVE_INFINITY), eq(0L), eq(3L)))
+                .thenReturn(tuples(tuple(30L, 300.0), tuple(20L, 200.0), tuple(10L, 100.0)));
+
+        List<FeedEntry> page = feedRepository.getFeedPage(followerId, null, 2);
+
+        assertEquals(List.of(new FeedEntry(30L, 300), new FeedEntry(20L, 200)), page);
+    }
+
+    @Test
+    void shouldContinueAfterCursorIncludingRemainingTies() {
+        RedisZSetCommands zSetCommands = givenZSetCommands();
+        when(zSetCommands.zRevRangeByScoreWithScores(aryEq(rawKey), eq(200.0), eq(200.0)))
+                .thenReturn(tuples(tuple(21L, 200.0), tuple(20L, 200.0), tuple(19L, 200.0)));
+        when(zSetCommands.zRevRangeByScoreWithScores(aryEq(rawKey), eq(Double.NEGATIVE_INFINITY),
+                eq(Math.nextDown(200.0)), eq(0L), eq(2L)))
+                .thenReturn(tuples(tuple(10L, 100.0)));
+
+        List<FeedEntry> page = feedRepository.getFeedPage(followerId, new FeedCursor(200, 20L), 2);
+
+        assertEquals(List.of(new FeedEntry(19L, 200), new FeedEntry(10L, 100)), page);
+    }
+
+    @Test
+    void shouldDecodeBinaryAndLegacyMembersWithoutBoxing() {
+        ReflectionTestUtils.setField(feedRepository, "maxFeedSize", 3);
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisZSetCommands zSetCommands = mock(RedisZSetCommands.class);
+        when(connection.zSetCommands()).thenReturn(zSetCommands);
+        when(zSetCommands.zRevRange(aryEq(redisKey.getBytes(StandardCharsets.UTF_8)), eq(0L), eq(2L)))
+                .thenReturn(new LinkedHashSet<>(List.of(FeedMemberRedisSerializer.encode(30L),
+                        "20".getBytes(StandardCharsets.UTF_8), "[\"java.lang.Long\",10]".getBytes(StandardCharsets.UTF_8))));
+        when(feedRedisTemplate.execute(any(RedisCallback.class)))
+                .then(invocation -> invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection));
+
+        long[] feed = feedRepository.getFeed(followerId);
+
+        assertArrayEquals(new long[]{30L, 20L, 10L}, feed);
+    }
+
+    private void verifyScriptCall(RedisOperations<String, Long> redisOps, String key, Long expectedPostId) {
+        verify(redisOps).execute(eq(feedAddScript), any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(List.of(key)), aryEq(FeedMemberRedisSerializer.encode(expectedPostId)),
+                aryEq(arg(expectedScore)), aryEq(arg(500)), aryEq(arg(0)));
+    }
+
+    private static byte[] arg(long value) {
+        return Long.toString(value).getBytes(StandardCharsets.US_ASCII);
     }
-}
 
+    private RedisZSetCommands givenZSetCommands() {
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisZSetCommands zSetCommands = mock(RedisZSetCommands.class);
+        when(connection.zSetCommands()).thenReturn(zSetCommands);
+        when(feedRedisTemplate.execute(any(RedisCallback.class)))
+                .then(invocation -> invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection));
+        return zSetCommands;
+    }
+
+    private static Tuple tuple(long postId, double score) {
+        return new DefaultTuple(FeedMemberRedisSerializer.encode(postId), score);
+    }
+
+    private static Set<Tuple> tuples(Tuple... tuples) {
+        return new LinkedHashSet<>(List.of(tuples));
+    }
+}
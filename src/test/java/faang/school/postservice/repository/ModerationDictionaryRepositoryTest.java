@@ -0,0 +1,45 @@
+package faang.school.postservice.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ModerationDictionaryRepositoryTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOps;
+
+    private ModerationDictionaryRepository dictionaryRepository;
+
+    @BeforeEach
+    void setUp() {
+        dictionaryRepository = new ModerationDictionaryRepository(stringRedisTemplate);
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOps);
+    }
+
+    @Test
+    void shouldReadActiveVersion() {
+        when(valueOps.get("moderation:dictionary:post:version")).thenReturn("3");
+
+        assertEquals(3L, dictionaryRepository.getActiveVersion("post"));
+    }
+
+    @Test
+    void shouldIgnoreMalformedActiveVersion() {
+        when(valueOps.get("moderation:dictionary:post:version")).thenReturn("v3-draft");
+
+        assertNull(dictionaryRepository.getActiveVersion("post"));
+    }
+}
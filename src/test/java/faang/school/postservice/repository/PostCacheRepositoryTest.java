@@ -1,10 +1,10 @@
 package faang.school.postservice.repository;
 
 import faang.school.postservice.dto.PostCreatedEvent;
+import faang.school.postservice.dto.PostDto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.RedisTemplate;
@@ -12,7 +12,9 @@ import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -28,17 +30,23 @@ class PostCacheRepositoryTest {
     @Mock
     private ValueOperations<String, PostCreatedEvent> valueOps;
 
-    @InjectMocks
+    @Mock
+    private RedisTemplate<String, PostDto> postDtoRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, PostDto> postDtoValueOps;
+
     private PostCacheRepository postCacheRepository;
 
     @BeforeEach
     void setup() {
-        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        postCacheRepository = new PostCacheRepository(redisTemplate, postDtoRedisTemplate);
         ReflectionTestUtils.setField(postCacheRepository, "ttl", 60L);
     }
 
     @Test
     void shouldCachePostWithCorrectKeyAndTtl() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
         PostCreatedEvent event = PostCreatedEvent.builder()
                 .postId(100L)
                 .authorId(1L)
@@ -53,6 +61,7 @@ class PostCacheRepositoryTest {
 
     @Test
     void shouldReturnCachedPostById() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
         PostCreatedEvent event = new PostCreatedEvent(100L, 1L, LocalDateTime.now(), List.of(2L, 3L));
 
         when(valueOps.get("post:100")).thenReturn(event);
@@ -62,4 +71,28 @@ class PostCacheRepositoryTest {
         assertEquals(event, result);
         verify(valueOps).get("post:100");
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldMultiGetPostDtosAndSkipMisses() {
+        PostDto dto10 = PostDto.builder().id(10L).build();
+        when(postDtoRedisTemplate.opsForValue()).thenReturn(postDtoValueOps);
+        when(postDtoValueOps.multiGet(List.of("post:dto:10", "post:dto:20")))
+                .thenReturn(Arrays.asList(dto10, null));
+
+        Map<Long, PostDto> result = postCacheRepository.getCachedPostDtos(List.of(10L, 20L));
+
+        assertEquals(Map.of(10L, dto10), result);
+    }
+
+    @Test
+    void shouldReturnCachedDtosAlignedWithPrimitiveIds() {
+        PostDto dto20 = PostDto.builder().id(20L).build();
+        when(postDtoRedisTemplate.opsForValue()).thenReturn(postDtoValueOps);
+        when(postDtoValueOps.multiGet(List.of("post:dto:10", "post:dto:20")))
+                .thenReturn(Arrays.asList(null, dto20));
+
+        List<PostDto> result = postCacheRepository.getCachedPostDtos(new long[]{10L, 20L});
+
+        assertEquals(Arrays.asList(null, dto20), result);
+    }
+}
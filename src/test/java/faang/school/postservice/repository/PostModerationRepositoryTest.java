@@ -0,0 +1,80 @@
+package faang.school.postservice.repository;
+
+import faang.school.postservice.dto.ModerationVerdict;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PostModerationRepositoryTest {
+    private static final int MAX_BIND_PARAMETERS = 32767;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private PostModerationRepository moderationRepository;
+
+    @BeforeEach
+    void setUp() {
+        moderationRepository = new PostModerationRepository(jdbcTemplate);
+    }
+
+    @Test
+    void shouldSplitLargePageIntoStatementsWithinBindLimit() {
+        OffsetDateTime updatedAt = OffsetDateTime.now();
+        int pageSize = 2 * PostModerationRepository.MAX_VERDICTS_PER_STATEMENT + 1;
+        List<ModerationVerdict> verdicts = LongStream.rangeClosed(1, pageSize)
+                .mapToObj(id -> new ModerationVerdict(id, id % 2 == 0, updatedAt))
+                .toList();
+        List<Integer> boundParameters = new ArrayList<>();
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any(Object[].class)))
+                .thenAnswer(invocation -> {
+                    int parameters = invocation.getArguments().length - 2;
+                    boundParameters.add(parameters);
+                    return (parameters - 1) / 3;
+                });
+
+        int written = moderationRepository.saveVerdicts(verdicts, LocalDateTime.now());
+
+        assertEquals(verdicts.size(), written);
+        assertEquals(List.of(30_001, 30_001, 4), boundParameters);
+        boundParameters.forEach(parameters -> assertTrue(parameters <= MAX_BIND_PARAMETERS));
+    }
+
+    @Test
+    void shouldOnlyWriteAndCountVerdictsOfPostsWithoutOne() {
+        List<ModerationVerdict> verdicts = List.of(new ModerationVerdict(1L, false, OffsetDateTime.now()));
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any(Object[].class))).thenReturn(0);
+
+        assertEquals(0, moderationRepository.saveVerdicts(verdicts, LocalDateTime.now()));
+
+        verify(jdbcTemplate).queryForObject(contains("AND p.verified_date IS NULL"), eq(Integer.class),
+                any(Object[].class));
+    }
+
+    @Test
+    void shouldNotQueryWithoutVerdicts() {
+        assertEquals(0, moderationRepository.saveVerdicts(List.of(), LocalDateTime.now()));
+
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Integer.class), any(Object[].class));
+    }
+}
@@ -0,0 +1,73 @@
+package faang.school.postservice.service;
+
+import faang.school.postservice.service.AhoCorasickMatcher.Match;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AhoCorasickMatcherTest {
+
+    @Test
+    void shouldReportOverlappingMatchesWithPositions() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(List.of("he", "she", "his", "hers"));
+
+        List<Match> matches = matcher.findAll("ushers");
+
+        assertEquals(List.of(
+                new Match("she", 1, 4),
+                new Match("he", 2, 4),
+                new Match("hers", 2, 6)), matches);
+    }
+
+    @Test
+    void shouldIgnoreCase() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(List.of("Шмара"));
+
+        assertTrue(matcher.containsAny("ШМАРА текст"));
+        assertEquals(List.of(new Match("шмара", 0, 5)), matcher.findAll("ШМАРА текст"));
+        assertFalse(matcher.containsAny("Добрый текст"));
+    }
+
+    @Test
+    void shouldMatchNothingWithoutTerms() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(List.of("", " "));
+
+        assertEquals(0, matcher.size());
+        assertFalse(matcher.containsAny("any text"));
+    }
+
+    @Test
+    void shouldAgreeWithNaiveContains() {
+        List<String> terms = List.of("aab", "ab", "bab", "bba", "aaaa", "ba");
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(terms);
+        Random random = new Random(42);
+
+        for (int i = 0; i < 1000; i++) {
+            StringBuilder text = new StringBuilder();
+            for (int j = random.nextInt(12); j > 0; j--) {
+                text.append("abc".charAt(random.nextInt(3)));
+            }
+            String value = text.toString();
+            boolean expected = terms.stream().anyMatch(value::contains);
+            long occurrences = terms.stream().mapToLong(term -> countOccurrences(value, term)).sum();
+
+            assertEquals(expected, matcher.containsAny(value), value);
+            assertEquals(occurrences, matcher.findAll(value).size(), value);
+            matcher.findAll(value).forEach(match ->
+                    assertEquals(match.term(), value.substring(match.start(), match.end())));
+        }
+    }
+
+    private static long countOccurrences(String text, String term) {
+        long count = 0;
+        for (int from = text.indexOf(term); from >= 0; from = text.indexOf(term, from + 1)) {
+            count++;
+        }
+        return count;
+    }
+}
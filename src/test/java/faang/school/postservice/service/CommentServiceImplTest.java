@@ -1,6 +1,5 @@
 package faang.school.postservice.service;
 
-import faang.school.postservice.client.UserServiceClient;
 import faang.school.postservice.dto.comment.CommentCreateDto;
 import faang.school.postservice.dto.comment.CommentResponseDto;
 import faang.school.postservice.dto.comment.CommentUpdateDto;
@@ -13,6 +12,7 @@ import faang.school.postservice.mapper.CommentResponseMapper;
 import faang.school.postservice.model.Comment;
 import faang.school.postservice.model.Post;
 import faang.school.postservice.repository.CommentRepository;
+import faang.school.postservice.repository.PostRepository;
 import faang.school.postservice.event.CommentCreatedEvent;
 import faang.school.postservice.service.publisher.KafkaCommentProducer;
 import org.junit.jupiter.api.DisplayName;
@@ -51,11 +51,17 @@ class CommentServiceImplTest {
     private PostService postService;
 
     @Mock
-    private UserServiceClient userServiceClient;
+    private UserCache userCache;
 
     @Mock
     private KafkaCommentProducer kafkaCommentProducer;
 
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private PostDtoCache postDtoCache;
+
     @Spy
     private CommentCreateMapper commentCreateMapper = Mockito.mock(CommentCreateMapper.class);
 
@@ -85,7 +91,7 @@ class CommentServiceImplTest {
                 .content("test")
                 .build();
 
-        when(userServiceClient.getUser(commentCreateDto.getAuthorId())).thenReturn(userDto);
+        when(userCache.getUser(commentCreateDto.getAuthorId())).thenReturn(Optional.of(userDto));
         when(postService.getPostEntryById(commentCreateDto.getPostId())).thenReturn(post);
         when(commentCreateMapper.toEntity(commentCreateDto)).thenReturn(comment);
         when(commentRepository.save(comment)).thenReturn(comment);
@@ -93,6 +99,7 @@ class CommentServiceImplTest {
         long result = commentService.createComment(commentCreateDto);
 
         verify(commentRepository, times(1)).save(comment);
+        verify(postRepository, times(1)).incrementCommentCount(1L, 1);
 
         assertEquals(1, post.getComments().size());
         assertTrue(post.getComments().contains(comment));
@@ -109,7 +116,7 @@ class CommentServiceImplTest {
         commentCreateDto.setAuthorId(1L);
         UserDto userDto = new UserDto(null, "Leo", "no@null.net");
 
-        when(userServiceClient.getUser(commentCreateDto.getAuthorId())).thenReturn(userDto);
+        when(userCache.getUser(commentCreateDto.getAuthorId())).thenReturn(Optional.of(userDto));
 
         Exception exception = assertThrows(
                 NotFoundException.class, () -> commentService.createComment(commentCreateDto));
@@ -123,7 +130,7 @@ class CommentServiceImplTest {
         commentCreateDto.setAuthorId(1L);
         UserDto userDto = new UserDto(0L, "Leo", "no@null.net");
 
-        when(userServiceClient.getUser(commentCreateDto.getAuthorId())).thenReturn(userDto);
+        when(userCache.getUser(commentCreateDto.getAuthorId())).thenReturn(Optional.of(userDto));
 
         Exception exception = assertThrows(
                 NotFoundException.class, () -> commentService.createComment(commentCreateDto));
@@ -135,7 +142,7 @@ class CommentServiceImplTest {
         CommentCreateDto commentCreateDto = new CommentCreateDto();
         commentCreateDto.setAuthorId(1L);
 
-        when(userServiceClient.getUser(commentCreateDto.getAuthorId())).thenReturn(null);
+        when(userCache.getUser(commentCreateDto.getAuthorId())).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(
                 NotFoundException.class, () -> commentService.createComment(commentCreateDto));
@@ -308,20 +315,24 @@ class CommentServiceImplTest {
     @Test
     void testDeleteCommentSuccessfulDeletion() {
         long commentId = 1L;
+        Comment comment = Comment.builder()
+                .id(commentId)
+                .post(Post.builder().id(5L).build())
+                .build();
 
-        when(commentRepository.existsById(commentId)).thenReturn(true);
+        when(commentRepository.findById(commentId)).thenReturn(Optional.of(comment));
 
         commentService.deleteComment(commentId);
 
-        verify(commentRepository, times(1)).existsById(commentId);
-        verify(commentRepository, times(1)).deleteById(commentId);
+        verify(commentRepository, times(1)).delete(comment);
+        verify(postRepository, times(1)).incrementCommentCount(5L, -1);
     }
 
     @Test
     void testDeleteCommentCommentDoesNotExist() {
         long commentId = 2L;
 
-        when(commentRepository.existsById(commentId)).thenReturn(false);
+        when(commentRepository.findById(commentId)).thenReturn(Optional.empty());
 
         EntityNotFoundException exception = assertThrows(
                 EntityNotFoundException.class,
@@ -330,7 +341,7 @@ class CommentServiceImplTest {
 
         assertEquals("Comment not found", exception.getMessage());
 
-        verify(commentRepository, never()).deleteById(commentId);
+        verify(commentRepository, never()).delete(any(Comment.class));
     }
 
     @Test
@@ -355,7 +366,7 @@ class CommentServiceImplTest {
                 .createdAt(LocalDateTime.of(2023, 10, 1, 10, 0))
                 .build();
 
-        when(userServiceClient.getUser(commentCreateDto.getAuthorId())).thenReturn(userDto);
+        when(userCache.getUser(commentCreateDto.getAuthorId())).thenReturn(Optional.of(userDto));
         when(postService.getPostEntryById(commentCreateDto.getPostId())).thenReturn(post);
         when(commentCreateMapper.toEntity(commentCreateDto)).thenReturn(comment);
         when(commentRepository.save(comment)).thenReturn(comment);
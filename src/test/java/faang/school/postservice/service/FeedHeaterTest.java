@@ -0,0 +1,101 @@
+package faang.school.postservice.service;
+
+import faang.school.postservice.dto.feed.FeedEntry;
+import faang.school.postservice.dto.feed.FeedPostProjection;
+import faang.school.postservice.repository.FeedRepository;
+import faang.school.postservice.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FeedHeaterTest {
+
+    @Mock
+    private FeedRepository feedRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private FolloweeService followeeService;
+
+    private final List<Runnable> submitted = new ArrayList<>();
+    private FeedHeater feedHeater;
+
+    @BeforeEach
+    void setUp() {
+        feedHeater = new FeedHeater(feedRepository, postRepository, followeeService, submitted::add);
+        ReflectionTestUtils.setField(feedHeater, "maxFeedSize", 500);
+        ReflectionTestUtils.setField(feedHeater, "lookbackDays", 30);
+        ReflectionTestUtils.setField(feedHeater, "waitMillis", 10L);
+    }
+
+    @Test
+    void shouldShareOneRebuildBetweenConcurrentRequests() {
+        CompletableFuture<List<FeedEntry>> first = feedHeater.rebuild(1L);
+        CompletableFuture<List<FeedEntry>> second = feedHeater.rebuild(1L);
+
+        assertSame(first, second);
+        assertEquals(1, submitted.size());
+    }
+
+    @Test
+    void shouldRebuildFromPushedFolloweesOnly() {
+        LocalDateTime publishedAt = LocalDateTime.of(2025, 6, 13, 12, 0);
+        FeedPostProjection post = mock(FeedPostProjection.class);
+        when(post.getId()).thenReturn(10L);
+        when(post.getPublishedAt()).thenReturn(publishedAt);
+        when(followeeService.getFolloweeIds(1L)).thenReturn(List.of(7L, 8L));
+        when(feedRepository.findTimelineAuthors(List.of(7L, 8L))).thenReturn(List.of(8L));
+        when(postRepository.findRecentPublishedByAuthors(eq(List.of(7L)), any(LocalDateTime.class), eq(500)))
+                .thenReturn(List.of(post));
+
+        CompletableFuture<List<FeedEntry>> rebuild = feedHeater.rebuild(1L);
+        submitted.forEach(Runnable::run);
+
+        List<FeedEntry> expected = List.of(new FeedEntry(10L, publishedAt.toEpochSecond(ZoneOffset.UTC)));
+        assertEquals(expected, rebuild.join());
+        verify(feedRepository).storeRebuiltFeed(1L, expected);
+        assertFalse(feedHeater.rebuild(1L).isDone());
+    }
+
+    @Test
+    void shouldAnswerEmptyWhenRebuildDoesNotFinishInTime() {
+        List<FeedEntry> result = feedHeater.warmUp(1L);
+
+        assertTrue(result.isEmpty());
+        assertEquals(1, submitted.size());
+        verifyNoInteractions(postRepository);
+    }
+
+    @Test
+    void shouldSkipRebuildWhenFeedWasRebuiltRecently() {
+        when(feedRepository.isFeedRebuilt(1L)).thenReturn(true);
+
+        assertTrue(feedHeater.warmUp(1L).isEmpty());
+        assertTrue(submitted.isEmpty());
+        verify(feedRepository, never()).storeRebuiltFeed(any(), any());
+    }
+}
@@ -1,23 +1,28 @@
 package faang.school.postservice.service;
 
 import faang.school.postservice.dto.PostDto;
-import faang.school.postservice.mapper.PostMapper;
-import faang.school.postservice.model.Post;
+import faang.school.postservice.dto.PostPageDto;
+import faang.school.postservice.dto.feed.FeedCursor;
+import faang.school.postservice.dto.feed.FeedEntry;
+import faang.school.postservice.exception.DataValidationException;
 import faang.school.postservice.repository.FeedRepository;
-import faang.school.postservice.repository.PostRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,10 +32,13 @@ class FeedServiceTest {
     private FeedRepository feedRepository;
 
     @Mock
-    private PostRepository postRepository;
+    private PostHydrator postHydrator;
 
     @Mock
-    private PostMapper postMapper;
+    private FolloweeService followeeService;
+
+    @Mock
+    private FeedHeater feedHeater;
 
     @InjectMocks
     private FeedService feedService;
@@ -38,7 +46,7 @@ class FeedServiceTest {
     @Test
     void shouldReturnEmptyListWhenFeedIsEmpty() {
         Long userId = 123L;
-        when(feedRepository.getFeed(userId)).thenReturn(List.of());
+        when(feedRepository.getFeed(userId)).thenReturn(new long[0]);
 
         List<PostDto> feed = feedService.getFeedForUser(userId);
 
@@ -46,65 +54,110 @@ class FeedServiceTest {
         assertTrue(feed.isEmpty());
 
         verify(feedRepository).getFeed(userId);
-        verifyNoMoreInteractions(postRepository, postMapper);
+        verifyNoInteractions(postHydrator);
     }
 
     @Test
-    void shouldReturnMappedPostsInCorrectOrder() {
+    void shouldReturnHydratedPostsInFeedOrder() {
         Long userId = 123L;
-        List<Object> postIdsRaw = List.of(10L, 20L, 30L);
-        when(feedRepository.getFeed(userId)).thenReturn(postIdsRaw);
-
-        Post post10 = Post.builder().id(10L).build();
-        Post post20 = Post.builder().id(20L).build();
-        Post post30 = Post.builder().id(30L).build();
-
-        when(postRepository.findAllById(List.of(10L, 20L, 30L)))
-                .thenReturn(List.of(post10, post20, post30));
+        when(feedRepository.getFeed(userId)).thenReturn(new long[]{10L, 20L, 30L});
 
         PostDto dto10 = PostDto.builder().id(10L).build();
         PostDto dto20 = PostDto.builder().id(20L).build();
         PostDto dto30 = PostDto.builder().id(30L).build();
-
-        when(postMapper.toDto(post10)).thenReturn(dto10);
-        when(postMapper.toDto(post20)).thenReturn(dto20);
-        when(postMapper.toDto(post30)).thenReturn(dto30);
+        when(postHydrator.hydrate(aryEq(new long[]{10L, 20L, 30L}))).thenReturn(List.of(dto10, dto20, dto30));
 
         List<PostDto> result = feedService.getFeedForUser(userId);
 
-        assertEquals(3, result.size());
-        assertEquals(dto10, result.get(0));
-        assertEquals(dto20, result.get(1));
-        assertEquals(dto30, result.get(2));
-
+        assertEquals(List.of(dto10, dto20, dto30), result);
         verify(feedRepository).getFeed(userId);
-        verify(postRepository).findAllById(List.of(10L, 20L, 30L));
-        verify(postMapper).toDto(post10);
-        verify(postMapper).toDto(post20);
-        verify(postMapper).toDto(post30);
+        verify(postHydrator).hydrate(aryEq(new long[]{10L, 20L, 30L}));
     }
 
     @Test
-    void shouldSkipPostsNotFoundInDatabase() {
+    void shouldReturnPageWithNextCursorWhenPageIsFull() {
         Long userId = 123L;
-        List<Object> postIdsRaw = List.of(10L, 20L);
-        when(feedRepository.getFeed(userId)).thenReturn(postIdsRaw);
+        ReflectionTestUtils.setField(feedService, "maxPageLimit", 100);
+        when(feedRepository.getFeedPage(userId, null, 2))
+                .thenReturn(List.of(new FeedEntry(30L, 300), new FeedEntry(20L, 200)));
+
+        PostDto dto20 = PostDto.builder().id(20L).build();
+        PostDto dto30 = PostDto.builder().id(30L).build();
+        when(postHydrator.hydrate(aryEq(new long[]{30L, 20L}))).thenReturn(List.of(dto30, dto20));
+
+        PostPageDto page = feedService.getFeedPage(userId, null, 2);
 
-        Post post10 = Post.builder().id(10L).build();
+        assertEquals(List.of(dto30, dto20), page.posts());
+        assertEquals(new FeedCursor(200, 20L), FeedCursor.decode(page.nextCursor()));
+    }
 
-        when(postRepository.findAllById(List.of(10L, 20L)))
-                .thenReturn(List.of(post10));
+    @Test
+    void shouldReturnLastPageWithoutCursor() {
+        Long userId = 123L;
+        ReflectionTestUtils.setField(feedService, "maxPageLimit", 100);
+        FeedCursor cursor = new FeedCursor(200, 20L);
+        when(feedRepository.getFeedPage(userId, cursor, 5))
+                .thenReturn(List.of(new FeedEntry(10L, 100)));
 
         PostDto dto10 = PostDto.builder().id(10L).build();
-        when(postMapper.toDto(post10)).thenReturn(dto10);
+        when(postHydrator.hydrate(aryEq(new long[]{10L}))).thenReturn(List.of(dto10));
 
-        List<PostDto> result = feedService.getFeedForUser(userId);
+        PostPageDto page = feedService.getFeedPage(userId, cursor.encode(), 5);
+
+        assertEquals(List.of(dto10), page.posts());
+        assertNull(page.nextCursor());
+    }
 
-        assertEquals(1, result.size());
-        assertEquals(dto10, result.get(0));
+    @Test
+    void shouldMergePullModeTimelinesIntoPage() {
+        Long userId = 123L;
+        ReflectionTestUtils.setField(feedService, "maxPageLimit", 100);
+        when(followeeService.getFolloweeIds(userId)).thenReturn(List.of(7L, 8L));
+        when(feedRepository.findTimelineAuthors(List.of(7L, 8L))).thenReturn(List.of(7L));
+        when(feedRepository.getFeedPage(userId, null, 3))
+                .thenReturn(List.of(new FeedEntry(30L, 300), new FeedEntry(10L, 100)));
+        when(feedRepository.getTimelinePage(7L, null, 3))
+                .thenReturn(List.of(new FeedEntry(25L, 250), new FeedEntry(5L, 50)));
 
-        verify(feedRepository).getFeed(userId);
-        verify(postRepository).findAllById(List.of(10L, 20L));
-        verify(postMapper).toDto(post10);
+        PostDto dto10 = PostDto.builder().id(10L).build();
+        PostDto dto25 = PostDto.builder().id(25L).build();
+        PostDto dto30 = PostDto.builder().id(30L).build();
+        when(postHydrator.hydrate(aryEq(new long[]{30L, 25L, 10L}))).thenReturn(List.of(dto30, dto25, dto10));
+
+        PostPageDto page = feedService.getFeedPage(userId, null, 3);
+
+        assertEquals(List.of(dto30, dto25, dto10), page.posts());
+        assertEquals(new FeedCursor(100, 10L), FeedCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    void shouldServeRebuiltEntriesWhenFeedIsMissing() {
+        Long userId = 123L;
+        ReflectionTestUtils.setField(feedService, "maxPageLimit", 100);
+        when(feedRepository.getFeedPage(userId, null, 1)).thenReturn(List.of());
+        when(feedHeater.warmUp(userId)).thenReturn(List.of(new FeedEntry(30L, 300), new FeedEntry(20L, 200)));
+
+        PostDto dto30 = PostDto.builder().id(30L).build();
+        when(postHydrator.hydrate(aryEq(new long[]{30L}))).thenReturn(List.of(dto30));
+
+        PostPageDto page = feedService.getFeedPage(userId, null, 1);
+
+        assertEquals(List.of(dto30), page.posts());
+        assertEquals(new FeedCursor(300, 30L), FeedCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    void shouldRejectPageLimitAboveMaximum() {
+        ReflectionTestUtils.setField(feedService, "maxPageLimit", 100);
+
+        assertThrows(DataValidationException.class, () -> feedService.getFeedPage(123L, null, 101));
+        verifyNoInteractions(feedRepository, postHydrator);
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        ReflectionTestUtils.setField(feedService, "maxPageLimit", 100);
+
+        assertThrows(DataValidationException.class, () -> feedService.getFeedPage(123L, "not-a-cursor", 10));
     }
-}
\ No newline at end of file
+}
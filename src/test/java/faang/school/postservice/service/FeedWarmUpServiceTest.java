@@ -0,0 +1,147 @@
+package faang.school.postservice.service;
+
+import faang.school.postservice.client.UserServiceClient;
+import faang.school.postservice.dto.FollowerResponseDto;
+import faang.school.postservice.dto.PostCreatedEvent;
+import faang.school.postservice.dto.feed.FeedPostProjection;
+import faang.school.postservice.repository.FeedRepository;
+import faang.school.postservice.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FeedWarmUpServiceTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private FeedRepository feedRepository;
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    @Mock
+    private ThreadPoolTaskScheduler taskScheduler;
+
+    @InjectMocks
+    private FeedWarmUpService feedWarmUpService;
+
+    private final LocalDateTime publishedAt = LocalDateTime.of(2025, 6, 13, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(feedWarmUpService, "batchSize", 2);
+        ReflectionTestUtils.setField(feedWarmUpService, "postsPerSecond", Integer.MAX_VALUE);
+        ReflectionTestUtils.setField(feedWarmUpService, "followerCacheSize", 100L);
+        ReflectionTestUtils.setField(feedWarmUpService, "lookbackDays", 30);
+        ReflectionTestUtils.setField(feedWarmUpService, "celebrityFollowerThreshold", 1);
+        ReflectionTestUtils.setField(feedWarmUpService, "followerPageSize", 100);
+    }
+
+    @Test
+    void shouldResumeFromCheckpointAndPushBatchesUntilExhausted() {
+        FeedPostProjection first = post(11L, 7L);
+        FeedPostProjection second = post(12L, 7L);
+        FeedPostProjection celebrityPost = post(13L, 8L);
+        when(feedRepository.getWarmUpCheckpoint()).thenReturn(10L);
+        when(postRepository.findPublishedAfterId(eq(10L), any(), eq(2))).thenReturn(List.of(first, second));
+        when(postRepository.findPublishedAfterId(eq(12L), any(), eq(2))).thenReturn(List.of(celebrityPost));
+        when(postRepository.findPublishedAfterId(eq(13L), any(), eq(2))).thenReturn(List.of());
+        when(userServiceClient.getFollowers(eq(7L), any()))
+                .thenReturn(List.of(new FollowerResponseDto(100L, "a", "a@test.com")));
+        when(userServiceClient.getFollowers(eq(8L), any())).thenReturn(List.of(
+                new FollowerResponseDto(100L, "a", "a@test.com"),
+                new FollowerResponseDto(200L, "b", "b@test.com")));
+
+        feedWarmUpService.warmUp();
+
+        ArgumentCaptor<List<PostCreatedEvent>> fanOut = ArgumentCaptor.forClass(List.class);
+        verify(feedRepository).addPostsToFeeds(fanOut.capture());
+        assertEquals(List.of(11L, 12L), fanOut.getValue().stream().map(PostCreatedEvent::getPostId).toList());
+        verify(userServiceClient, times(1)).getFollowers(eq(7L), any());
+        verify(feedRepository).addPostToTimeline(8L, 13L, publishedAt);
+        verify(feedRepository).saveWarmUpCheckpoint(12L);
+        verify(feedRepository).saveWarmUpCheckpoint(13L);
+        verify(feedRepository).clearWarmUpCheckpoint();
+    }
+
+    @Test
+    void shouldSkipPostsWithoutAuthor() {
+        FeedPostProjection projectPost = mock(FeedPostProjection.class);
+        FeedPostProjection authorPost = post(12L, 7L);
+        when(feedRepository.getWarmUpCheckpoint()).thenReturn(10L);
+        when(postRepository.findPublishedAfterId(eq(10L), any(), eq(2))).thenReturn(List.of(projectPost, authorPost));
+        when(postRepository.findPublishedAfterId(eq(12L), any(), eq(2))).thenReturn(List.of());
+        when(userServiceClient.getFollowers(eq(7L), any()))
+                .thenReturn(List.of(new FollowerResponseDto(100L, "a", "a@test.com")));
+
+        feedWarmUpService.warmUp();
+
+        ArgumentCaptor<List<PostCreatedEvent>> fanOut = ArgumentCaptor.forClass(List.class);
+        verify(feedRepository).addPostsToFeeds(fanOut.capture());
+        assertEquals(List.of(12L), fanOut.getValue().stream().map(PostCreatedEvent::getPostId).toList());
+        verify(userServiceClient, never()).getFollowers(isNull(), any());
+        verify(feedRepository).clearWarmUpCheckpoint();
+    }
+
+    @Test
+    void shouldNotKeepFollowersBeyondCacheSize() {
+        ReflectionTestUtils.setField(feedWarmUpService, "followerCacheSize", 1L);
+        FeedPostProjection first = post(11L, 7L);
+        FeedPostProjection second = post(12L, 7L);
+        when(feedRepository.getWarmUpCheckpoint()).thenReturn(10L);
+        when(postRepository.findPublishedAfterId(eq(10L), any(), eq(2))).thenReturn(List.of(first, second));
+        when(postRepository.findPublishedAfterId(eq(12L), any(), eq(2))).thenReturn(List.of());
+        when(userServiceClient.getFollowers(eq(7L), any()))
+                .thenReturn(List.of(new FollowerResponseDto(100L, "a", "a@test.com")));
+
+        feedWarmUpService.warmUp();
+
+        verify(userServiceClient, times(2)).getFollowers(eq(7L), any());
+        ArgumentCaptor<List<PostCreatedEvent>> fanOut = ArgumentCaptor.forClass(List.class);
+        verify(feedRepository).addPostsToFeeds(fanOut.capture());
+        assertEquals(List.of(List.of(100L), List.of(100L)),
+                fanOut.getValue().stream().map(PostCreatedEvent::getFollowerIds).toList());
+    }
+
+    @Test
+    void shouldNotStartSecondRunWhileRunning() {
+        assertTrue(feedWarmUpService.start());
+        assertFalse(feedWarmUpService.start());
+
+        verify(taskScheduler, times(1)).execute(any(Runnable.class));
+        verify(postRepository, never()).findPublishedAfterId(anyLong(), any(), eq(2));
+    }
+
+    private FeedPostProjection post(Long id, Long authorId) {
+        FeedPostProjection post = mock(FeedPostProjection.class);
+        when(post.getId()).thenReturn(id);
+        when(post.getAuthorId()).thenReturn(authorId);
+        when(post.getPublishedAt()).thenReturn(publishedAt);
+        return post;
+    }
+}
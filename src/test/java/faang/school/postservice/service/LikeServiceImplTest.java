@@ -36,6 +36,8 @@ public class LikeServiceImplTest {
     private PostRepository postRepository;
     @Mock
     private CommentRepository commentRepository;
+    @Mock
+    private PostDtoCache postDtoCache;
     @Spy
     private LikeMapperImpl likeMapper;
     @InjectMocks
@@ -77,6 +79,8 @@ public class LikeServiceImplTest {
         assertEquals(userId, dto.getUserId());
         verify(postRepository).findById(postId);
         verify(likeRepository).save(any(Like.class));
+        verify(postRepository).incrementLikeCount(postId, 1);
+        verify(postDtoCache).evict(postId);
     }
 
     @Test
@@ -102,10 +106,13 @@ public class LikeServiceImplTest {
     void testUnlikePost() {
         when(postRepository.existsById(postId)).thenReturn(true);
         when(likeRepository.existsByPostIdAndUserId(postId, userId)).thenReturn(true);
+        when(likeRepository.deleteByPostIdAndUserId(postId, userId)).thenReturn(1L);
 
         likeServiceImpl.unlikePost(userId, postId);
 
         verify(likeRepository).deleteByPostIdAndUserId(postId, userId);
+        verify(postRepository).incrementLikeCount(postId, -1);
+        verify(postDtoCache).evict(postId);
     }
 
     @Test
@@ -1,15 +1,21 @@
 package faang.school.postservice.service;
 
+import faang.school.postservice.repository.ModerationDictionaryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
-@SpringBootTest(classes = PostModerationDictionaryImpl.class)
+@SpringBootTest(classes = {PostModerationDictionaryImpl.class, SimpleMeterRegistry.class})
 public class ModerationDictionaryTest {
 
+    @MockBean
+    private ModerationDictionaryRepository moderationDictionaryRepository;
+
     @Autowired
     private PostModerationDictionaryImpl moderationDictionary;
 
@@ -18,4 +24,11 @@ public class ModerationDictionaryTest {
         assertTrue(moderationDictionary.isTextWithoutForbiddenWords("Добрый текст"));
         assertFalse(moderationDictionary.isTextWithoutForbiddenWords("Шмара текст"));
     }
+
+    @Test
+    public void testFindForbiddenWords() {
+        assertTrue(moderationDictionary.findForbiddenWords("Добрый текст").isEmpty());
+        assertTrue(moderationDictionary.findForbiddenWords("Текст: шмара").stream()
+                .anyMatch(match -> match.term().equals("шмара") && match.start() == 7));
+    }
 }
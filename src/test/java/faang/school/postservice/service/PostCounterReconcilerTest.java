@@ -0,0 +1,78 @@
+package faang.school.postservice.service;
+
+import faang.school.postservice.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PostCounterReconcilerTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private PostCounterReconciler postCounterReconciler;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(postCounterReconciler, "batchSize", 100);
+    }
+
+    @Test
+    void shouldReconcileAllIdRangesUpToMaxId() {
+        givenTransactions();
+        when(postRepository.findMaxId()).thenReturn(250L);
+
+        postCounterReconciler.reconcile();
+
+        verify(postRepository).reconcileCounters(0L, 100L);
+        verify(postRepository).reconcileCounters(100L, 200L);
+        verify(postRepository).reconcileCounters(200L, 250L);
+        verify(transactionTemplate, times(3)).execute(any());
+    }
+
+    @Test
+    void shouldLockRangeBeforeRecountingIt() {
+        givenTransactions();
+        when(postRepository.findMaxId()).thenReturn(100L);
+
+        postCounterReconciler.reconcile();
+
+        InOrder inOrder = inOrder(postRepository);
+        inOrder.verify(postRepository).lockIdRange(0L, 100L);
+        inOrder.verify(postRepository).reconcileCounters(0L, 100L);
+    }
+
+    @Test
+    void shouldSkipEmptyTable() {
+        when(postRepository.findMaxId()).thenReturn(0L);
+
+        postCounterReconciler.reconcile();
+
+        verify(postRepository, never()).reconcileCounters(anyLong(), anyLong());
+    }
+
+    private void givenTransactions() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+}
@@ -0,0 +1,133 @@
+package faang.school.postservice.service;
+
+import faang.school.postservice.dto.PostDto;
+import faang.school.postservice.repository.PostCacheRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PostDtoCacheTest {
+
+    @Mock
+    private PostCacheRepository postCacheRepository;
+
+    private PostDtoCache postDtoCache;
+
+    private final PostDto published = PostDto.builder().id(1L).published(true).build();
+
+    @BeforeEach
+    void setUp() {
+        postDtoCache = new PostDtoCache(postCacheRepository, 100, 60_000);
+    }
+
+    @Test
+    void shouldServeRepeatedReadsFromLocalTier() {
+        AtomicInteger loads = new AtomicInteger();
+        Function<Long, Optional<PostDto>> loader = id -> {
+            loads.incrementAndGet();
+            return Optional.of(published);
+        };
+
+        assertEquals(Optional.of(published), postDtoCache.get(1L, loader));
+        assertEquals(Optional.of(published), postDtoCache.get(1L, loader));
+
+        assertEquals(1, loads.get());
+        verify(postCacheRepository, times(1)).getCachedPostDto(1L);
+        verify(postCacheRepository).cachePostDto(published);
+    }
+
+    @Test
+    void shouldUseRedisTierBeforeDatabase() {
+        when(postCacheRepository.getCachedPostDto(1L)).thenReturn(published);
+
+        Optional<PostDto> result = postDtoCache.get(1L, id -> {
+            throw new AssertionError("database must not be queried");
+        });
+
+        assertEquals(Optional.of(published), result);
+    }
+
+    @Test
+    void shouldRememberMissingPosts() {
+        assertTrue(postDtoCache.get(1L, id -> Optional.empty()).isEmpty());
+        verify(postCacheRepository).cacheMissingPost(1L);
+
+        when(postCacheRepository.isPostMissing(2L)).thenReturn(true);
+        assertTrue(postDtoCache.get(2L, id -> Optional.of(published)).isEmpty());
+    }
+
+    @Test
+    void shouldKeepDraftsOutOfRedis() {
+        PostDto draft = PostDto.builder().id(1L).build();
+
+        assertEquals(Optional.of(draft), postDtoCache.get(1L, id -> Optional.of(draft)));
+
+        verify(postCacheRepository, never()).cachePostDto(any());
+    }
+
+    @Test
+    void shouldFallBackToDatabaseWhenRedisFails() {
+        when(postCacheRepository.getCachedPostDto(1L)).thenThrow(new QueryTimeoutException("timeout"));
+
+        assertEquals(Optional.of(published), postDtoCache.get(1L, id -> Optional.of(published)));
+    }
+
+    @Test
+    void shouldReloadAfterEviction() {
+        AtomicInteger loads = new AtomicInteger();
+        Function<Long, Optional<PostDto>> loader = id -> {
+            loads.incrementAndGet();
+            return Optional.of(published);
+        };
+        postDtoCache.get(1L, loader);
+
+        postDtoCache.evict(1L);
+        postDtoCache.get(1L, loader);
+
+        assertEquals(2, loads.get());
+        verify(postCacheRepository).evictPostDto(1L);
+    }
+
+    @Test
+    void shouldResolveBatchThroughAllTiersWithOneQuery() {
+        PostDto fromRedis = PostDto.builder().id(2L).published(true).build();
+        postDtoCache.get(1L, id -> Optional.of(published));
+        when(postCacheRepository.getCachedPostDtos(anyList())).thenReturn(Map.of(2L, fromRedis));
+        when(postCacheRepository.findMissingPosts(anyList())).thenReturn(Set.of(3L));
+        List<Set<Long>> queries = new ArrayList<>();
+
+        Map<Long, Optional<PostDto>> result = postDtoCache.getAll(List.of(1L, 2L, 3L, 4L, 5L), ids -> {
+            queries.add(Set.copyOf(ids));
+            return Map.of(4L, published);
+        });
+
+        assertEquals(Optional.of(published), result.get(1L));
+        assertEquals(Optional.of(fromRedis), result.get(2L));
+        assertTrue(result.get(3L).isEmpty());
+        assertEquals(Optional.of(published), result.get(4L));
+        assertTrue(result.get(5L).isEmpty());
+        assertEquals(List.of(Set.of(4L, 5L)), queries);
+        verify(postCacheRepository).cacheMissingPosts(List.of(5L));
+    }
+}
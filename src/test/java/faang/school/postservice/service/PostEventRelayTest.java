@@ -0,0 +1,230 @@
+package faang.school.postservice.service;
+
+import faang.school.postservice.client.UserServiceClient;
+import faang.school.postservice.dto.FollowerResponseDto;
+import faang.school.postservice.dto.PostCreatedEvent;
+import faang.school.postservice.model.PostEventOutbox;
+import faang.school.postservice.model.PostEventType;
+import faang.school.postservice.producer.KafkaPostProducer;
+import faang.school.postservice.producer.PostEventSend;
+import faang.school.postservice.repository.LeaseRepository;
+import faang.school.postservice.repository.PostEventOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PostEventRelayTest {
+
+    @Mock
+    private PostEventOutboxRepository outboxRepository;
+
+    @Mock
+    private LeaseRepository leaseRepository;
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    @Mock
+    private KafkaPostProducer kafkaPostProducer;
+
+    private PostEventRelay relay;
+
+    private final List<FollowerResponseDto> followers = List.of(
+            new FollowerResponseDto(2L, "follower1", "follower1@test.com"),
+            new FollowerResponseDto(3L, "follower2", "follower2@test.com"));
+
+    @BeforeEach
+    void setUp() {
+        relay = new PostEventRelay(outboxRepository, leaseRepository, userServiceClient, kafkaPostProducer,
+                (Executor) Runnable::run);
+        ReflectionTestUtils.setField(relay, "batchSize", 100);
+        ReflectionTestUtils.setField(relay, "leaseTtlSeconds", 30L);
+        ReflectionTestUtils.setField(relay, "sendTimeoutSeconds", 1L);
+        ReflectionTestUtils.setField(relay, "retryDelaySeconds", 5L);
+        ReflectionTestUtils.setField(relay, "maxRetryDelaySeconds", 300L);
+        ReflectionTestUtils.setField(relay, "celebrityFollowerThreshold", 1000);
+        ReflectionTestUtils.setField(relay, "followerPageSize", 10);
+    }
+
+    @Test
+    void shouldSkipWhenLeaseIsHeldElsewhere() {
+        when(leaseRepository.tryAcquire(anyString(), anyString(), any())).thenReturn(false);
+
+        relay.relay();
+
+        verifyNoInteractions(outboxRepository, userServiceClient, kafkaPostProducer);
+    }
+
+    @Test
+    void shouldFetchFollowersOncePerAuthorAndDeleteSentEvents() {
+        givenLease();
+        when(outboxRepository.findReady(any(LocalDateTime.class), anyInt()))
+                .thenReturn(List.of(event(1L, 10L, PostEventType.CREATED), event(2L, 10L, PostEventType.DELETED)))
+                .thenReturn(List.of());
+        when(userServiceClient.getFollowers(eq(10L), any())).thenReturn(followers);
+        when(kafkaPostProducer.sendPostCreatedEvent(any())).thenReturn(acked(1));
+        when(kafkaPostProducer.sendPostDeletedEvent(any())).thenReturn(acked(1));
+
+        relay.relay();
+
+        verify(userServiceClient, times(1)).getFollowers(eq(10L), any());
+        verify(kafkaPostProducer).sendPostCreatedEvent(argThat(event ->
+                event.getPostId().equals(1L) && event.getFollowerIds().equals(List.of(2L, 3L)) && !event.isPullMode()));
+        verify(kafkaPostProducer).sendPostDeletedEvent(argThat(event -> event.getPostId().equals(2L)));
+        verify(outboxRepository).deleteByIds(List.of(1L, 2L));
+        verify(leaseRepository).release(anyString(), anyString());
+    }
+
+    @Test
+    void shouldSendEveryFollowerPageWithContinuousChunkIndexes() {
+        ReflectionTestUtils.setField(relay, "followerPageSize", 2);
+        givenLease();
+        when(outboxRepository.findReady(any(LocalDateTime.class), anyInt()))
+                .thenReturn(List.of(event(1L, 10L, PostEventType.CREATED)))
+                .thenReturn(List.of());
+        when(userServiceClient.getFollowers(eq(10L), argThat(filter -> filter != null && filter.afterId() == null)))
+                .thenReturn(followers);
+        when(userServiceClient.getFollowers(eq(10L), argThat(filter -> filter != null && filter.afterId() != null)))
+                .thenReturn(List.of(new FollowerResponseDto(4L, "follower3", "follower3@test.com")));
+        List<PostCreatedEvent> sent = new ArrayList<>();
+        when(kafkaPostProducer.sendPostCreatedEvent(any())).thenAnswer(invocation -> {
+            PostCreatedEvent event = invocation.getArgument(0);
+            sent.add(event);
+            return acked(event.getFollowerIds().size());
+        });
+
+        relay.relay();
+
+        assertEquals(List.of(List.of(2L, 3L), List.of(4L)),
+                sent.stream().map(PostCreatedEvent::getFollowerIds).toList());
+        assertEquals(List.of(0, 2), sent.stream().map(PostCreatedEvent::getChunkIndex).toList());
+        verify(outboxRepository).deleteByIds(List.of(1L));
+    }
+
+    @Test
+    void shouldStopPagingAndSendInPullModeAboveCelebrityThreshold() {
+        ReflectionTestUtils.setField(relay, "celebrityFollowerThreshold", 1);
+        ReflectionTestUtils.setField(relay, "followerPageSize", 2);
+        givenLease();
+        when(outboxRepository.findReady(any(LocalDateTime.class), anyInt()))
+                .thenReturn(List.of(event(1L, 10L, PostEventType.CREATED)))
+                .thenReturn(List.of());
+        when(userServiceClient.getFollowers(eq(10L), any())).thenReturn(followers);
+        when(kafkaPostProducer.sendPostCreatedEvent(any())).thenReturn(acked(1));
+
+        relay.relay();
+
+        verify(userServiceClient, times(1)).getFollowers(eq(10L), any());
+        verify(kafkaPostProducer).sendPostCreatedEvent(argThat(event ->
+                event.isPullMode() && event.getFollowerIds().isEmpty()));
+    }
+
+    @Test
+    void shouldBackOffFailedEventAndHoldBackLaterEventsOfAuthor() {
+        givenLease();
+        PostEventOutbox first = event(1L, 10L, PostEventType.CREATED);
+        when(outboxRepository.findReady(any(LocalDateTime.class), anyInt()))
+                .thenReturn(List.of(first, event(2L, 10L, PostEventType.DELETED)))
+                .thenReturn(List.of());
+        when(userServiceClient.getFollowers(eq(10L), any())).thenReturn(followers);
+        when(kafkaPostProducer.sendPostCreatedEvent(any()))
+                .thenReturn(new PostEventSend(
+                        CompletableFuture.failedFuture(new IllegalStateException("broker down")), 1));
+
+        relay.relay();
+
+        verify(kafkaPostProducer, never()).sendPostDeletedEvent(any());
+        verify(outboxRepository, never()).deleteByIds(any());
+        verify(outboxRepository).saveAll(List.of(first));
+        assertEquals(1, first.getAttempts());
+        assertTrue(first.getNextAttemptAt().isAfter(LocalDateTime.now()));
+    }
+
+    @Test
+    void shouldRetryWhenFollowersCannotBeFetched() {
+        givenLease();
+        PostEventOutbox first = event(1L, 10L, PostEventType.CREATED);
+        when(outboxRepository.findReady(any(LocalDateTime.class), anyInt()))
+                .thenReturn(List.of(first))
+                .thenReturn(List.of());
+        when(userServiceClient.getFollowers(eq(10L), any())).thenThrow(new RuntimeException("user service down"));
+
+        relay.relay();
+
+        verifyNoInteractions(kafkaPostProducer);
+        verify(outboxRepository).saveAll(List.of(first));
+        assertEquals(1, first.getAttempts());
+    }
+
+    @Test
+    void shouldExtendLeaseBeforeSendThatCouldOutliveIt() {
+        ReflectionTestUtils.setField(relay, "leaseTtlSeconds", 1L);
+        givenLease();
+        when(leaseRepository.extend(anyString(), anyString(), any())).thenReturn(true);
+        when(outboxRepository.findReady(any(LocalDateTime.class), anyInt()))
+                .thenReturn(List.of(event(1L, 10L, PostEventType.CREATED)))
+                .thenReturn(List.of());
+        when(userServiceClient.getFollowers(eq(10L), any())).thenReturn(followers);
+        when(kafkaPostProducer.sendPostCreatedEvent(any())).thenReturn(acked(1));
+
+        relay.relay();
+
+        verify(leaseRepository, atLeastOnce()).extend(anyString(), anyString(), any());
+        verify(outboxRepository).deleteByIds(List.of(1L));
+    }
+
+    @Test
+    void shouldStopSendingAndKeepEventsWhenLeaseCannotBeExtended() {
+        ReflectionTestUtils.setField(relay, "leaseTtlSeconds", 1L);
+        givenLease();
+        when(leaseRepository.extend(anyString(), anyString(), any())).thenReturn(false);
+
+        relay.relay();
+
+        verifyNoInteractions(outboxRepository, userServiceClient, kafkaPostProducer);
+        verify(leaseRepository).release(anyString(), anyString());
+    }
+
+    private static PostEventSend acked(int chunkCount) {
+        return new PostEventSend(CompletableFuture.completedFuture(null), chunkCount);
+    }
+
+    private void givenLease() {
+        when(leaseRepository.tryAcquire(anyString(), anyString(), any())).thenReturn(true);
+    }
+
+    private PostEventOutbox event(Long id, Long authorId, PostEventType type) {
+        return PostEventOutbox.builder()
+                .id(id)
+                .postId(id)
+                .authorId(authorId)
+                .eventType(type)
+                .publishedAt(LocalDateTime.now())
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,66 @@
+package faang.school.postservice.service;
+
+import faang.school.postservice.dto.PostDto;
+import faang.school.postservice.mapper.PostMapper;
+import faang.school.postservice.model.Post;
+import faang.school.postservice.repository.PostCacheRepository;
+import faang.school.postservice.repository.PostRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PostHydratorTest {
+
+    @Mock
+    private PostCacheRepository postCacheRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private PostMapper postMapper;
+
+    @InjectMocks
+    private PostHydrator postHydrator;
+
+    @Test
+    void shouldServeWarmFeedFromCacheOnly() {
+        PostDto dto10 = PostDto.builder().id(10L).build();
+        PostDto dto20 = PostDto.builder().id(20L).build();
+        when(postCacheRepository.getCachedPostDtos(aryEq(new long[]{20L, 10L})))
+                .thenReturn(List.of(dto20, dto10));
+
+        List<PostDto> result = postHydrator.hydrate(new long[]{20L, 10L});
+
+        assertEquals(List.of(dto20, dto10), result);
+        verifyNoInteractions(postRepository, postMapper);
+    }
+
+    @Test
+    void shouldLoadMissesInOneQueryAndBackFillCache() {
+        PostDto dto10 = PostDto.builder().id(10L).build();
+        PostDto dto20 = PostDto.builder().id(20L).build();
+        Post post20 = Post.builder().id(20L).published(true).build();
+        when(postCacheRepository.getCachedPostDtos(aryEq(new long[]{30L, 20L, 10L})))
+                .thenReturn(Arrays.asList(null, null, dto10));
+        when(postRepository.findAllByIdIn(List.of(30L, 20L))).thenReturn(List.of(post20));
+        when(postMapper.toDto(post20)).thenReturn(dto20);
+
+        List<PostDto> result = postHydrator.hydrate(new long[]{30L, 20L, 10L});
+
+        assertEquals(List.of(dto20, dto10), result);
+        verify(postCacheRepository).cachePostDtos(List.of(dto20));
+    }
+}
@@ -0,0 +1,73 @@
+package faang.school.postservice.service;
+
+import faang.school.postservice.repository.ModerationDictionaryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PostModerationDictionaryImplTest {
+
+    @Mock
+    private ModerationDictionaryRepository dictionaryRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PostModerationDictionaryImpl dictionary;
+
+    @BeforeEach
+    void setUp() {
+        dictionary = new PostModerationDictionaryImpl(dictionaryRepository, meterRegistry);
+        ReflectionTestUtils.setField(dictionary, "path", "/dictionary/post-forbidden-words.txt");
+        dictionary.init();
+    }
+
+    @Test
+    void shouldSwitchToNewerVersionFromRedis() {
+        when(dictionaryRepository.getActiveVersion("post")).thenReturn(3L);
+        when(dictionaryRepository.getWords("post", 3L)).thenReturn(Set.of("запрет"));
+
+        dictionary.reload();
+
+        assertEquals(3L, dictionary.getVersion());
+        assertFalse(dictionary.isTextWithoutForbiddenWords("Это запрет"));
+        assertTrue(dictionary.isTextWithoutForbiddenWords("Шмара текст"));
+        assertEquals(3.0, meterRegistry.get("moderation.dictionary.version").gauge().value());
+    }
+
+    @Test
+    void shouldNotRecompileSameVersion() {
+        when(dictionaryRepository.getActiveVersion("post")).thenReturn(0L);
+
+        dictionary.reload();
+
+        verify(dictionaryRepository, never()).getWords(anyString(), anyLong());
+        assertFalse(dictionary.isTextWithoutForbiddenWords("Шмара текст"));
+    }
+
+    @Test
+    void shouldKeepCurrentDictionaryWhenRedisFails() {
+        when(dictionaryRepository.getActiveVersion("post")).thenThrow(new QueryTimeoutException("timeout"));
+
+        dictionary.reload();
+
+        assertEquals(0L, dictionary.getVersion());
+        assertFalse(dictionary.isTextWithoutForbiddenWords("Шмара текст"));
+    }
+}
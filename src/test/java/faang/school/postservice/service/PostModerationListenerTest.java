@@ -0,0 +1,50 @@
+package faang.school.postservice.service;
+
+import faang.school.postservice.event.PostModerationRequestedEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class PostModerationListenerTest {
+
+    @Mock
+    private PostService postService;
+
+    @Test
+    void shouldModeratePostOnModerationPool() {
+        PostModerationListener listener = new PostModerationListener(postService, Runnable::run);
+
+        listener.onModerationRequested(new PostModerationRequestedEvent(1L));
+
+        verify(postService).moderatePost(1L);
+    }
+
+    @Test
+    void shouldLeavePostToSweepWhenModerationFails() {
+        doThrow(new IllegalStateException("db down")).when(postService).moderatePost(1L);
+        PostModerationListener listener = new PostModerationListener(postService, Runnable::run);
+
+        assertDoesNotThrow(() -> listener.onModerationRequested(new PostModerationRequestedEvent(1L)));
+    }
+
+    @Test
+    void shouldNotBlockWhenModerationQueueIsFull() {
+        Executor fullExecutor = task -> {
+            throw new RejectedExecutionException("queue is full");
+        };
+        PostModerationListener listener = new PostModerationListener(postService, fullExecutor);
+
+        assertDoesNotThrow(() -> listener.onModerationRequested(new PostModerationRequestedEvent(1L)));
+        verifyNoInteractions(postService);
+    }
+}
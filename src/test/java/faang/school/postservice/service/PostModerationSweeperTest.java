@@ -0,0 +1,76 @@
+package faang.school.postservice.service;
+
+import faang.school.postservice.dto.ModerationCandidate;
+import faang.school.postservice.dto.ModerationVerdict;
+import faang.school.postservice.repository.PostModerationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PostModerationSweeperTest {
+
+    @Mock
+    private PostModerationRepository moderationRepository;
+
+    @Mock
+    private PostModerationDictionaryImpl moderationDictionary;
+
+    private PostModerationSweeper sweeper;
+
+    private final OffsetDateTime updatedAt = OffsetDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        sweeper = new PostModerationSweeper(moderationRepository, moderationDictionary, (Executor) Runnable::run);
+        ReflectionTestUtils.setField(sweeper, "pageSize", 3);
+        ReflectionTestUtils.setField(sweeper, "parallelism", 2);
+    }
+
+    @Test
+    void shouldWalkPagesByIdAndWriteVerdictsPerPage() {
+        when(moderationRepository.findUnmoderatedAfter(0L, 3)).thenReturn(List.of(
+                new ModerationCandidate(1L, "clean", updatedAt),
+                new ModerationCandidate(2L, "bad", updatedAt),
+                new ModerationCandidate(5L, "clean", updatedAt)));
+        when(moderationRepository.findUnmoderatedAfter(5L, 3)).thenReturn(List.of(
+                new ModerationCandidate(8L, null, updatedAt)));
+        when(moderationRepository.findUnmoderatedAfter(8L, 3)).thenReturn(List.of());
+        when(moderationDictionary.isTextWithoutForbiddenWords("clean")).thenReturn(true);
+        when(moderationDictionary.isTextWithoutForbiddenWords("bad")).thenReturn(false);
+
+        sweeper.sweep();
+
+        verify(moderationRepository).saveVerdicts(eq(List.of(
+                new ModerationVerdict(1L, true, updatedAt),
+                new ModerationVerdict(2L, false, updatedAt),
+                new ModerationVerdict(5L, true, updatedAt))), any(LocalDateTime.class));
+        verify(moderationRepository).saveVerdicts(eq(List.of(new ModerationVerdict(8L, true, updatedAt))),
+                any(LocalDateTime.class));
+    }
+
+    @Test
+    void shouldDoNothingWithoutUnmoderatedPosts() {
+        when(moderationRepository.findUnmoderatedAfter(0L, 3)).thenReturn(List.of());
+
+        sweeper.sweep();
+
+        verify(moderationRepository, never()).saveVerdicts(any(), any());
+        verify(moderationDictionary, never()).isTextWithoutForbiddenWords(anyString());
+    }
+}
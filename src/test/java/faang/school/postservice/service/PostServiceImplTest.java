@@ -4,23 +4,25 @@ import faang.school.postservice.client.ProjectServiceClient;
 import faang.school.postservice.config.image.ImageDimensions;
 import faang.school.postservice.config.image.ImageProcessingProperties;
 import faang.school.postservice.config.image.ImageResizeProperties;
-import faang.school.postservice.client.UserServiceClient;
-import faang.school.postservice.dto.FollowerResponseDto;
-import faang.school.postservice.dto.PostCreatedEvent;
+import faang.school.postservice.dto.PostCursor;
 import faang.school.postservice.dto.PostDto;
+import faang.school.postservice.dto.PostLookupDto;
+import faang.school.postservice.dto.PostPageDto;
 import faang.school.postservice.dto.ResourceDto;
-import faang.school.postservice.dto.UserFilterRequestDto;
+import faang.school.postservice.event.PostModerationRequestedEvent;
 import faang.school.postservice.exception.EntityNotFoundException;
 import faang.school.postservice.dto.user.UserDto;
+import faang.school.postservice.exception.DataValidationException;
 import faang.school.postservice.exception.NotFoundException;
 import faang.school.postservice.exception.PostNotFoundException;
 import faang.school.postservice.mapper.PostMapperImpl;
 import faang.school.postservice.mapper.ResourceMapperImpl;
-import faang.school.postservice.model.Like;
 import faang.school.postservice.model.Post;
 import faang.school.postservice.model.Resource;
-import faang.school.postservice.producer.KafkaPostProducer;
+import faang.school.postservice.model.PostEventType;
 import faang.school.postservice.repository.AuthorCacheRepository;
+import faang.school.postservice.repository.AuthorOffenseCounterRepository;
+import faang.school.postservice.repository.PostEventOutboxRepository;
 import faang.school.postservice.repository.PostRepository;
 import faang.school.postservice.repository.ResourceRepository;
 import io.minio.MinioClient;
@@ -33,9 +35,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.listener.ChannelTopic;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
@@ -46,19 +52,21 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.time.LocalDateTime;
-import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
@@ -67,7 +75,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -91,9 +99,6 @@ class PostServiceImplTest {
     @Mock
     private ImageProcessingProperties properties;
 
-    @Mock
-    private ThreadPoolTaskScheduler taskScheduler;
-
     @Mock
     private PostModerationDictionaryImpl moderationDictionary;
 
@@ -104,10 +109,7 @@ class PostServiceImplTest {
     private ChannelTopic channelTopic;
 
     @Mock
-    private UserServiceClient userServiceClient;
-
-    @Mock
-    private KafkaPostProducer kafkaProducer;
+    private UserCache userCache;
 
     @Mock
     private ProjectServiceClient projectServiceClient;
@@ -116,10 +118,19 @@ class PostServiceImplTest {
     private ImageResizer imageResizer;
 
     @Mock
-    private Executor postEventExecutor;
+    private AuthorCacheRepository authorCacheRepository;
 
     @Mock
-    private AuthorCacheRepository authorCacheRepository;
+    private PostDtoCache postDtoCache;
+
+    @Mock
+    private PostEventOutboxRepository postEventOutboxRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private AuthorOffenseCounterRepository authorOffenseCounterRepository;
 
     @InjectMocks
     private PostServiceImpl postService;
@@ -128,7 +139,6 @@ class PostServiceImplTest {
 
     private PostDto postDto;
     private Post post;
-    private List<FollowerResponseDto> followers;
 
     @BeforeEach
     public void setUp() {
@@ -148,11 +158,6 @@ class PostServiceImplTest {
                 .deleted(false)
                 .createdAt(LocalDateTime.now())
                 .build();
-
-        followers = Arrays.asList(
-                new FollowerResponseDto(2L, "follower1", "follower1@test.com"),
-                new FollowerResponseDto(3L, "follower2", "follower2@test.com")
-        );
     }
 
     @Test
@@ -171,75 +176,61 @@ class PostServiceImplTest {
     }
 
     @Test
-    public void testPublishPostAlreadyPublished() {
-        post.setPublished(true);
+    public void testPublishProjectPostWithoutAuthorSkipsFeedEvent() {
+        post.setAuthorId(null);
+        post.setProjectId(7L);
         when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(postRepository.save(post)).thenReturn(post);
 
-        assertThrows(IllegalStateException.class, () -> postService.publishPost(1L));
-        verify(postRepository).findById(1L);
-        verify(postRepository, never()).save(post);
+        postService.publishPost(1L);
+
+        assertTrue(post.isPublished());
+        verifyNoInteractions(postEventOutboxRepository, authorCacheRepository);
+        verify(eventPublisher).publishEvent(new PostModerationRequestedEvent(1L));
     }
 
     @Test
-    void testPublishPostWithEventSending() throws InterruptedException {
-        ReflectionTestUtils.setField(postService, "postEventExecutor", (Executor) Runnable::run);
-
-        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
-        when(postRepository.save(post)).thenReturn(post);
-        when(userServiceClient.getFollowers(eq(1L), any())).thenReturn(followers);
+    public void testPublishScheduledPostsPublishesClaimedPostsOnly() {
+        when(postRepository.claimScheduledPosts(eq(List.of(1L, 2L)), any(LocalDateTime.class)))
+                .thenReturn(List.of(post));
+        when(postRepository.saveAll(List.of(post))).thenReturn(List.of(post));
 
-        PostDto result = postService.publishPost(1L);
+        int published = postService.publishScheduledPosts(List.of(1L, 2L));
 
-        assertNotNull(result);
+        assertEquals(1, published);
         assertTrue(post.isPublished());
         assertNotNull(post.getPublishedAt());
-
-        verify(kafkaProducer).sendPostCreatedEvent(argThat(event ->
-                event.getPostId().equals(1L) &&
-                        event.getAuthorId().equals(1L) &&
-                        event.getFollowerIds().containsAll(List.of(2L, 3L))
-        ));
+        verify(postDtoCache).evict(1L);
+        verify(authorCacheRepository).saveAuthor(1L, 1L);
+        verify(postEventOutboxRepository).save(argThat(event ->
+                event.getPostId().equals(1L) && event.getEventType() == PostEventType.CREATED));
     }
 
     @Test
-    void testPublishPostEventWithEmptyFollowers() {
-        ReflectionTestUtils.setField(postService, "postEventExecutor", (Executor) Runnable::run);
-
+    public void testPublishPostAlreadyPublished() {
+        post.setPublished(true);
         when(postRepository.findById(1L)).thenReturn(Optional.of(post));
-        when(postRepository.save(post)).thenReturn(post);
-        when(userServiceClient.getFollowers(eq(1L), any(UserFilterRequestDto.class)))
-                .thenReturn(Collections.emptyList());
 
-        PostDto result = postService.publishPost(1L);
-
-        assertNotNull(result);
-        assertTrue(post.isPublished());
-
-        verify(kafkaProducer).sendPostCreatedEvent(argThat(event ->
-                event.getPostId().equals(1L) &&
-                        event.getAuthorId().equals(1L) &&
-                        event.getFollowerIds().isEmpty()
-        ));
+        assertThrows(IllegalStateException.class, () -> postService.publishPost(1L));
+        verify(postRepository).findById(1L);
+        verify(postRepository, never()).save(post);
     }
 
     @Test
-    void testPublishPostEventWithUserServiceException() throws InterruptedException {
-        Post post = new Post();
-        post.setId(1L);
-        post.setAuthorId(42L);
-        post.setPublished(false);
-
+    void testPublishPostEnqueuesCreatedEvent() {
         when(postRepository.findById(1L)).thenReturn(Optional.of(post));
         when(postRepository.save(post)).thenReturn(post);
 
-        PostDto result = postService.publishPost(1L);
-
-        assertNotNull(result);
-        assertTrue(post.isPublished());
-
-        Thread.sleep(100);
+        postService.publishPost(1L);
 
-        verify(kafkaProducer, never()).sendPostCreatedEvent(any(PostCreatedEvent.class));
+        verify(postEventOutboxRepository).save(argThat(event ->
+                event.getPostId().equals(1L) &&
+                        event.getAuthorId().equals(1L) &&
+                        event.getEventType() == PostEventType.CREATED &&
+                        event.getPublishedAt().equals(post.getPublishedAt()) &&
+                        event.getNextAttemptAt() != null
+        ));
+        verify(eventPublisher).publishEvent(new PostModerationRequestedEvent(1L));
     }
 
     @Test
@@ -254,8 +245,8 @@ class PostServiceImplTest {
     @Test
     public void testCreateDraft() {
         when(postRepository.save(any(Post.class))).thenReturn(post);
-        when(userServiceClient.getUser(postDto.getAuthorId()))
-                .thenReturn(new UserDto(1L, "Rick", "test"));
+        when(userCache.getUser(postDto.getAuthorId()))
+                .thenReturn(Optional.of(new UserDto(1L, "Rick", "test")));
 
         PostDto result = postService.createDraft(postDto);
 
@@ -275,18 +266,111 @@ class PostServiceImplTest {
                 .authorId(1L)
                 .build();
 
-        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
-        when(userServiceClient.getUser(postDto.getAuthorId()))
-                .thenReturn(new UserDto(1L, "Rick", "test"));
+        when(postRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(post));
+        when(userCache.getUser(postDto.getAuthorId()))
+                .thenReturn(Optional.of(new UserDto(1L, "Rick", "test")));
         when(postRepository.save(post)).thenReturn(post);
 
         PostDto result = postService.updatePost(1L, updatedPostDto);
 
         assertNotNull(result);
         assertEquals("Updated content", result.getContent());
-        verify(postRepository).findById(1L);
+        verify(postRepository).findByIdForUpdate(1L);
         verify(postRepository).save(post);
         verify(postMapper).toDto(post);
+        verify(eventPublisher, never()).publishEvent(any(PostModerationRequestedEvent.class));
+    }
+
+    @Test
+    public void testUpdatePublishedPostContentRequestsModeration() {
+        post.setPublished(true);
+        post.setVerified(true);
+        post.setVerifiedDate(LocalDateTime.now());
+        PostDto updatedPostDto = PostDto.builder()
+                .content("Updated content")
+                .build();
+        when(postRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(post));
+        when(postRepository.save(post)).thenReturn(post);
+
+        postService.updatePost(1L, updatedPostDto);
+
+        assertFalse(post.isVerified());
+        assertNull(post.getVerifiedDate());
+        verify(eventPublisher).publishEvent(new PostModerationRequestedEvent(1L));
+        verifyNoInteractions(authorOffenseCounterRepository);
+    }
+
+    @Test
+    public void testUpdateRejectedPostContentTakesItOffAuthorOffenses() {
+        post.setPublished(true);
+        post.setVerified(false);
+        post.setVerifiedDate(LocalDateTime.now());
+        PostDto updatedPostDto = PostDto.builder()
+                .content("Updated content")
+                .build();
+        when(postRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(post));
+        when(postRepository.save(post)).thenReturn(post);
+
+        postService.updatePost(1L, updatedPostDto);
+
+        assertNull(post.getVerifiedDate());
+        verify(authorOffenseCounterRepository).addRejectedPosts(1L, -1);
+    }
+
+    @Test
+    public void testModeratePostStoresVerdictForReadVersion() {
+        LocalDateTime updatedAt = LocalDateTime.now().minusMinutes(1);
+        post.setUpdatedAt(updatedAt);
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(moderationDictionary.findForbiddenWords("Test content"))
+                .thenReturn(List.of(new AhoCorasickMatcher.Match("test", 0, 4)));
+        when(postRepository.updateModerationVerdict(eq(1L), eq(false), any(LocalDateTime.class), eq(updatedAt)))
+                .thenReturn(1);
+
+        postService.moderatePost(1L);
+
+        verify(postRepository).updateModerationVerdict(eq(1L), eq(false), any(LocalDateTime.class), eq(updatedAt));
+        verify(authorOffenseCounterRepository).addRejectedPosts(1L, 1);
+    }
+
+    @Test
+    public void testModeratePostDoesNotCountDroppedVerdict() {
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(moderationDictionary.findForbiddenWords("Test content"))
+                .thenReturn(List.of(new AhoCorasickMatcher.Match("test", 0, 4)));
+        when(postRepository.updateModerationVerdict(eq(1L), eq(false), any(LocalDateTime.class), any()))
+                .thenReturn(0);
+
+        postService.moderatePost(1L);
+
+        verifyNoInteractions(authorOffenseCounterRepository);
+    }
+
+    @Test
+    public void testModeratePostDoesNotCountPostVerifiedByConcurrentModeration() {
+        LocalDateTime updatedAt = LocalDateTime.now().minusMinutes(1);
+        post.setUpdatedAt(updatedAt);
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(moderationDictionary.findForbiddenWords("Test content"))
+                .thenReturn(List.of(new AhoCorasickMatcher.Match("test", 0, 4)));
+        // the sweep stored its verdict after this read, so the guarded update matches no row
+        when(postRepository.updateModerationVerdict(eq(1L), eq(false), any(LocalDateTime.class), eq(updatedAt)))
+                .thenReturn(0);
+
+        postService.moderatePost(1L);
+
+        verify(authorOffenseCounterRepository, never()).addRejectedPosts(anyLong(), anyInt());
+    }
+
+    @Test
+    public void testModeratePostSkipsPostWithVerdict() {
+        post.setVerifiedDate(LocalDateTime.now());
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+
+        postService.moderatePost(1L);
+
+        verifyNoInteractions(moderationDictionary);
+        verify(postRepository, never()).updateModerationVerdict(anyLong(), anyBoolean(), any(), any());
     }
 
     @Test
@@ -297,11 +381,11 @@ class PostServiceImplTest {
                 .authorId(2L)
                 .build();
         UserDto userDto = new UserDto(2L, "Rick", "test");
-        when(userServiceClient.getUser(2L)).thenReturn(userDto);
-        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(userCache.getUser(2L)).thenReturn(Optional.of(userDto));
+        when(postRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(post));
 
         assertThrows(IllegalArgumentException.class, () -> postService.updatePost(1L, updatedPostDto));
-        verify(postRepository).findById(1L);
+        verify(postRepository).findByIdForUpdate(1L);
         verify(postRepository, never()).save(post);
     }
 
@@ -319,11 +403,99 @@ class PostServiceImplTest {
         verify(postMapper).toDto(post);
     }
 
+    @Test
+    public void testSoftDeletePublishedPostEnqueuesRemoval() {
+        post.setPublished(true);
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(postRepository.save(post)).thenReturn(post);
+
+        postService.softDelete(1L);
+
+        verify(postEventOutboxRepository).save(argThat(event ->
+                event.getPostId().equals(1L) && event.getEventType() == PostEventType.DELETED
+        ));
+    }
+
+    @Test
+    public void testSoftDeleteRejectedPostStillCountsAsOffense() {
+        post.setVerified(false);
+        post.setVerifiedDate(LocalDateTime.now());
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(postRepository.save(post)).thenReturn(post);
+
+        postService.softDelete(1L);
+
+        assertTrue(post.isDeleted());
+        verifyNoInteractions(authorOffenseCounterRepository);
+    }
+
+    @Test
+    public void testUnpublishPost() {
+        post.setPublished(true);
+        post.setPublishedAt(LocalDateTime.now());
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(postRepository.save(post)).thenReturn(post);
+
+        postService.unpublishPost(1L);
+
+        assertFalse(post.isPublished());
+        assertNull(post.getPublishedAt());
+        verify(postEventOutboxRepository).save(argThat(event ->
+                event.getPostId().equals(1L) && event.getEventType() == PostEventType.DELETED));
+    }
+
+    @Test
+    public void testUnpublishDraftFails() {
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+
+        assertThrows(IllegalStateException.class, () -> postService.unpublishPost(1L));
+        verify(postRepository, never()).save(any(Post.class));
+    }
+
+    @Test
+    public void testGetPublishedPostsByAuthorIdFirstPage() {
+        ReflectionTestUtils.setField(postService, "maxPageLimit", 100);
+        LocalDateTime publishedAt = LocalDateTime.of(2025, 6, 13, 12, 0);
+        Post first = Post.builder().id(5L).authorId(1L).published(true).publishedAt(publishedAt).likeCount(3).build();
+        Post second = Post.builder().id(4L).authorId(1L).published(true).publishedAt(publishedAt).build();
+        when(postRepository.findPublishedByAuthorId(1L, PageRequest.of(0, 2))).thenReturn(List.of(first, second));
+
+        PostPageDto page = postService.getPublishedPostsByAuthorId(1L, null, 2);
+
+        assertEquals(List.of(5L, 4L), page.posts().stream().map(PostDto::getId).toList());
+        assertEquals(List.of(3L, 0L), page.posts().stream().map(PostDto::getLikeCount).toList());
+        assertEquals(new PostCursor(publishedAt, 4L), PostCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    public void testGetPublishedPostsByProjectIdContinuesAfterCursor() {
+        ReflectionTestUtils.setField(postService, "maxPageLimit", 100);
+        PostCursor cursor = new PostCursor(LocalDateTime.of(2025, 6, 13, 12, 0), 4L);
+        Post older = Post.builder().id(3L).projectId(7L).published(true)
+                .publishedAt(LocalDateTime.of(2025, 6, 12, 12, 0)).build();
+        when(postRepository.findPublishedByProjectIdAfter(7L, cursor.timestamp(), 4L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(older));
+
+        PostPageDto page = postService.getPublishedPostsByProjectId(7L, cursor.encode(), 2);
+
+        assertEquals(List.of(3L), page.posts().stream().map(PostDto::getId).toList());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    public void testGetPublishedPostsRejectsLimitAboveMaximum() {
+        ReflectionTestUtils.setField(postService, "maxPageLimit", 100);
+
+        assertThrows(DataValidationException.class, () -> postService.getPublishedPostsByAuthorId(1L, null, 101));
+    }
+
     @Test
     public void testGetPostById() {
-        post.setLikes(List.of(new Like(), new Like()));
+        post.setLikeCount(2);
 
-        when(postRepository.findByIdWithLikes(1L)).thenReturn(Optional.of(post));
+        when(postDtoCache.get(eq(1L), any())).thenAnswer(invocation ->
+                invocation.<Function<Long, Optional<PostDto>>>getArgument(1).apply(1L));
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
 
         PostDto result = postService.getPostById(1L);
 
@@ -331,51 +503,93 @@ class PostServiceImplTest {
         assertEquals(postDto.getContent(), result.getContent());
         assertEquals(postDto.getAuthorId(), result.getAuthorId());
         assertEquals(2, result.getLikeCount());
-        verify(postRepository).findByIdWithLikes(1L);
+        verify(postRepository).findById(1L);
         verify(postMapper).toDto(post);
     }
 
     @Test
     public void testGetPostByIdNotFound() {
-        when(postRepository.findByIdWithLikes(1L)).thenReturn(Optional.empty());
+        when(postDtoCache.get(eq(1L), any())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> postService.getPostById(1L));
-        verify(postRepository).findByIdWithLikes(1L);
+    }
+
+    @Test
+    public void testGetPostsByIdsKeepsRequestOrderAndMarksMissing() {
+        ReflectionTestUtils.setField(postService, "maxBatchSize", 10);
+        PostDto first = PostDto.builder().id(1L).build();
+        PostDto third = PostDto.builder().id(3L).build();
+        when(postDtoCache.getAll(eq(List.of(3L, 2L, 1L)), any())).thenReturn(Map.of(
+                1L, Optional.of(first),
+                2L, Optional.empty(),
+                3L, Optional.of(third)));
+
+        List<PostLookupDto> result = postService.getPostsByIds(List.of(3L, 2L, 1L, 3L));
+
+        assertEquals(List.of(
+                new PostLookupDto(3L, true, third),
+                new PostLookupDto(2L, false, null),
+                new PostLookupDto(1L, true, first),
+                new PostLookupDto(3L, true, third)), result);
+    }
+
+    @Test
+    public void testGetPostsByIdsRejectsTooManyIds() {
+        ReflectionTestUtils.setField(postService, "maxBatchSize", 2);
+
+        assertThrows(DataValidationException.class, () -> postService.getPostsByIds(List.of(1L, 2L, 3L)));
+        verifyNoInteractions(postDtoCache);
     }
 
     @Test
     public void testGetAllDraftsByAuthorId() {
-        when(postRepository.findByAuthorId(1L)).thenReturn(List.of(post));
+        when(postRepository.findDraftsByAuthorId(1L, Pageable.unpaged())).thenReturn(List.of(post));
 
         List<PostDto> result = postService.getAllDraftsByAuthorId(1L);
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(postDto.getContent(), result.get(0).getContent());
-        verify(postRepository).findByAuthorId(1L);
+        verify(postRepository).findDraftsByAuthorId(1L, Pageable.unpaged());
         verify(postMapper).toDto(post);
     }
 
     @Test
     public void testGetAllDraftsByProjectId() {
-        when(postRepository.findByProjectId(1L)).thenReturn(List.of(post));
+        when(postRepository.findDraftsByProjectId(1L, Pageable.unpaged())).thenReturn(List.of(post));
 
         List<PostDto> result = postService.getAllDraftsByProjectId(1L);
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(postDto.getContent(), result.get(0).getContent());
-        verify(postRepository).findByProjectId(1L);
+        verify(postRepository).findDraftsByProjectId(1L, Pageable.unpaged());
         verify(postMapper).toDto(post);
     }
 
+    @Test
+    public void testGetDraftsByAuthorIdContinuesAfterCursor() {
+        ReflectionTestUtils.setField(postService, "maxPageLimit", 100);
+        PostCursor cursor = new PostCursor(LocalDateTime.of(2025, 6, 13, 12, 0), 9L);
+        LocalDateTime createdAt = LocalDateTime.of(2025, 6, 12, 12, 0);
+        Post draft = Post.builder().id(8L).authorId(1L).createdAt(createdAt).build();
+        Post older = Post.builder().id(7L).authorId(1L).createdAt(createdAt).build();
+        when(postRepository.findDraftsByAuthorIdAfter(1L, cursor.timestamp(), 9L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(draft, older));
+
+        PostPageDto page = postService.getDraftsByAuthorId(1L, cursor.encode(), 2);
+
+        assertEquals(List.of(8L, 7L), page.posts().stream().map(PostDto::getId).toList());
+        assertEquals(new PostCursor(createdAt, 7L), PostCursor.decode(page.nextCursor()));
+    }
+
     @Test
     public void testGetAllPublishedPostsByAuthorId() {
         post.setPublished(true);
         post.setPublishedAt(LocalDateTime.now());
-        post.setLikes(List.of(new Like(), new Like()));
+        post.setLikeCount(2);
 
-        when(postRepository.findByAuthorIdWithLikes(1L)).thenReturn(List.of(post));
+        when(postRepository.findPublishedByAuthorId(1L, Pageable.unpaged())).thenReturn(List.of(post));
 
         List<PostDto> result = postService.getAllPublishedPostsByAuthorId(1L);
 
@@ -383,7 +597,7 @@ class PostServiceImplTest {
         assertEquals(1, result.size());
         assertEquals(postDto.getContent(), result.get(0).getContent());
         assertEquals(2, result.get(0).getLikeCount());
-        verify(postRepository).findByAuthorIdWithLikes(1L);
+        verify(postRepository).findPublishedByAuthorId(1L, Pageable.unpaged());
         verify(postMapper).toDto(post);
     }
 
@@ -391,9 +605,9 @@ class PostServiceImplTest {
     public void testGetAllPublishedPostsByProjectId() {
         post.setPublished(true);
         post.setPublishedAt(LocalDateTime.now());
-        post.setLikes(List.of(new Like(), new Like()));
+        post.setLikeCount(2);
 
-        when(postRepository.findByProjectIdWithLikes(1L)).thenReturn(List.of(post));
+        when(postRepository.findPublishedByProjectId(1L, Pageable.unpaged())).thenReturn(List.of(post));
 
         List<PostDto> result = postService.getAllPublishedPostsByProjectId(1L);
 
@@ -401,7 +615,7 @@ class PostServiceImplTest {
         assertEquals(1, result.size());
         assertEquals(postDto.getContent(), result.get(0).getContent());
         assertEquals(2, result.get(0).getLikeCount());
-        verify(postRepository).findByProjectIdWithLikes(1L);
+        verify(postRepository).findPublishedByProjectId(1L, Pageable.unpaged());
         verify(postMapper).toDto(post);
     }
 
@@ -418,48 +632,6 @@ class PostServiceImplTest {
         assertEquals("Post not found", exception.getMessage());
     }
 
-    @Test
-    public void testModeratePostsWithNoPosts() {
-        ReflectionTestUtils.setField(postService, "limitToModerate", 2);
-        when(postRepository.findUnverifiedPosts(2)).thenReturn(Collections.emptyList());
-
-        postService.moderatePosts();
-
-        verify(postRepository, times(1)).findUnverifiedPosts(2);
-        verifyNoMoreInteractions(postRepository);
-    }
-
-    @Test
-    public void testModeratePostsWithOnePackOfPosts() {
-        ReflectionTestUtils.setField(postService, "limitToModerate", 2);
-        ScheduledExecutorService realExecutor = Executors.newScheduledThreadPool(2);
-        when(taskScheduler.getScheduledExecutor()).thenReturn(realExecutor);
-        when(postRepository.findUnverifiedPosts(2))
-                .thenReturn(List.of(post, post))
-                .thenReturn(Collections.emptyList());
-
-        postService.moderatePosts();
-
-        verify(postRepository, times(2)).findUnverifiedPosts(2);
-        verify(postRepository, times(2)).save(any());
-    }
-
-    @Test
-    public void testModeratePostsWithSomePacksOfPosts() {
-        ReflectionTestUtils.setField(postService, "limitToModerate", 2);
-        ScheduledExecutorService realExecutor = Executors.newScheduledThreadPool(2);
-        when(taskScheduler.getScheduledExecutor()).thenReturn(realExecutor);
-        when(postRepository.findUnverifiedPosts(2))
-                .thenReturn(List.of(post, post))
-                .thenReturn(List.of(post))
-                .thenReturn(Collections.emptyList());
-
-        postService.moderatePosts();
-
-        verify(postRepository, times(3)).findUnverifiedPosts(2);
-        verify(postRepository, times(3)).save(any());
-    }
-
     @Test
     public void testUploadImageToPostWithWrongPostId() throws Exception {
         Long postId = 1L;
@@ -641,21 +813,33 @@ class PostServiceImplTest {
 
     @Test
     public void testBanUserWithTooManyOffendedPostsWithNoRejectedPosts() {
-        when(postRepository.findByVerifiedFalse()).thenReturn(Collections.emptyList());
+        ReflectionTestUtils.setField(postService, "countOfUnverifiedPostsToBan", countOfUnverifiedPostsToBan);
+        when(authorOffenseCounterRepository.findAuthorsWithRejectedPostsAbove(countOfUnverifiedPostsToBan))
+                .thenReturn(List.of());
 
         postService.banUsersWithTooManyOffendedPosts();
 
-        verify(redisTemplate, never()).convertAndSend(anyString(), any());
+        verifyNoInteractions(redisTemplate);
     }
 
     @Test
+    @SuppressWarnings("unchecked")
     public void testBanUserWithTooManyOffendedPostsSuccessfully() {
-        post.setAuthorId(1L);
-        when(postRepository.findByVerifiedFalse()).thenReturn(List.of(post, post, post));
+        ReflectionTestUtils.setField(postService, "countOfUnverifiedPostsToBan", countOfUnverifiedPostsToBan);
+        when(authorOffenseCounterRepository.findAuthorsWithRejectedPostsAbove(countOfUnverifiedPostsToBan))
+                .thenReturn(List.of(1L, 2L));
         when(channelTopic.getTopic()).thenReturn("ban-users");
+        RedisOperations<String, Object> operations = mock(RedisOperations.class);
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).then(invocation -> {
+            invocation.getArgument(0, SessionCallback.class).execute(operations);
+            return List.of();
+        });
 
         postService.banUsersWithTooManyOffendedPosts();
 
-        verify(redisTemplate, times(1)).convertAndSend(anyString(), any());
+        verify(redisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+        verify(operations).convertAndSend("ban-users", "1");
+        verify(operations).convertAndSend("ban-users", "2");
+        verify(redisTemplate, never()).convertAndSend(anyString(), any());
     }
 }
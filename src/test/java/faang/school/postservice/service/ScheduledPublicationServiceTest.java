@@ -0,0 +1,105 @@
+package faang.school.postservice.service;
+
+import faang.school.postservice.dto.ScheduledPostProjection;
+import faang.school.postservice.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduledPublicationServiceTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private PostService postService;
+
+    @InjectMocks
+    private ScheduledPublicationService scheduledPublicationService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(scheduledPublicationService, "lookAheadSeconds", 300L);
+        ReflectionTestUtils.setField(scheduledPublicationService, "maxQueued", 1000);
+        ReflectionTestUtils.setField(scheduledPublicationService, "batchSize", 2);
+    }
+
+    @Test
+    void shouldPublishDuePostsInBatches() {
+        LocalDateTime due = LocalDateTime.now().minusSeconds(1);
+        when(postRepository.findScheduledBefore(any(LocalDateTime.class), anyInt()))
+                .thenReturn(List.of(scheduled(1L, due.minusSeconds(2)), scheduled(2L, due.minusSeconds(1)),
+                        scheduled(3L, due)));
+
+        scheduledPublicationService.refresh();
+        scheduledPublicationService.publishDue();
+
+        verify(postService).publishScheduledPosts(List.of(1L, 2L));
+        verify(postService).publishScheduledPosts(List.of(3L));
+    }
+
+    @Test
+    void shouldKeepFuturePostsQueued() {
+        when(postRepository.findScheduledBefore(any(LocalDateTime.class), anyInt()))
+                .thenReturn(List.of(scheduled(1L, LocalDateTime.now().plusMinutes(2))));
+
+        scheduledPublicationService.refresh();
+        scheduledPublicationService.publishDue();
+
+        verify(postService, never()).publishScheduledPosts(anyList());
+    }
+
+    @Test
+    void shouldNotQueueSamePostTwice() {
+        LocalDateTime due = LocalDateTime.now().minusSeconds(1);
+        ScheduledPostProjection post = scheduled(1L, due);
+        when(postRepository.findScheduledBefore(any(LocalDateTime.class), anyInt())).thenReturn(List.of(post));
+
+        scheduledPublicationService.refresh();
+        scheduledPublicationService.refresh();
+        scheduledPublicationService.publishDue();
+
+        verify(postService, times(1)).publishScheduledPosts(List.of(1L));
+    }
+
+    @Test
+    void shouldRetryFailedBatchAfterRefresh() {
+        LocalDateTime due = LocalDateTime.now().minusSeconds(1);
+        ScheduledPostProjection post = scheduled(1L, due);
+        when(postRepository.findScheduledBefore(any(LocalDateTime.class), anyInt())).thenReturn(List.of(post));
+        when(postService.publishScheduledPosts(List.of(1L)))
+                .thenThrow(new IllegalStateException("db down"))
+                .thenReturn(1);
+
+        scheduledPublicationService.refresh();
+        scheduledPublicationService.publishDue();
+        scheduledPublicationService.refresh();
+        scheduledPublicationService.publishDue();
+
+        verify(postService, times(2)).publishScheduledPosts(List.of(1L));
+    }
+
+    private ScheduledPostProjection scheduled(Long id, LocalDateTime scheduledAt) {
+        ScheduledPostProjection post = mock(ScheduledPostProjection.class);
+        when(post.getId()).thenReturn(id);
+        when(post.getScheduledAt()).thenReturn(scheduledAt);
+        return post;
+    }
+}
@@ -0,0 +1,60 @@
+package faang.school.postservice.service;
+
+import faang.school.postservice.client.UserServiceClient;
+import faang.school.postservice.dto.user.UserDto;
+import feign.FeignException;
+import feign.Request;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserCacheTest {
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    private UserCache userCache;
+
+    private final UserDto user = new UserDto(1L, "Rick", "rick@test.com");
+
+    @BeforeEach
+    void setUp() {
+        userCache = new UserCache(userServiceClient, 100, 600, 300, 30);
+    }
+
+    @Test
+    void shouldCallUserServiceOncePerUser() {
+        when(userServiceClient.getUser(1L)).thenReturn(user);
+
+        assertEquals(Optional.of(user), userCache.getUser(1L));
+        assertEquals(Optional.of(user), userCache.getUser(1L));
+
+        verify(userServiceClient, times(1)).getUser(1L);
+    }
+
+    @Test
+    void shouldRememberUnknownUsers() {
+        Request request = Request.create(Request.HttpMethod.GET, "/users/2", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        when(userServiceClient.getUser(2L))
+                .thenThrow(new FeignException.NotFound("Not found", request, null, Map.of()));
+
+        assertTrue(userCache.getUser(2L).isEmpty());
+        assertTrue(userCache.getUser(2L).isEmpty());
+
+        verify(userServiceClient, times(1)).getUser(2L);
+    }
+}